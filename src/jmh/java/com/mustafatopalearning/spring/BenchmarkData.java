@@ -0,0 +1,106 @@
+package com.mustafatopalearning.spring;
+
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.UserRequestDTO;
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures for the benchmarks: a fixed seed keeps runs comparable between releases.
+ */
+public final class BenchmarkData {
+    
+    private static final String[] WORDS = {
+            "spring", "boot", "java", "veritabanı", "performans", "önbellek", "sorgu", "indeks", "kullanıcı",
+            "gönderi", "sayfa", "arama", "hibernate", "jackson", "bellek", "işlem", "güncelleme", "yazılım",
+            "mimari", "test", "ölçüm", "gecikme", "kapasite", "bağlantı", "havuz", "istek", "yanıt", "akış"
+    };
+    
+    private BenchmarkData() {
+    }
+    
+    public static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+    
+    // Contents vary between roughly 40 and 200 words, like short blog posts.
+    public static String content(Random random) {
+        return sentence(random, 40 + random.nextInt(160)) + ".";
+    }
+    
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        user.setName("Ad" + id);
+        user.setSurname("Soyad" + id);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+    
+    public static Post post(long id, User user, Random random) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(sentence(random, 3 + random.nextInt(6)));
+        post.setContent(content(random));
+        post.setUser(user);
+        post.setCreatedAt(LocalDateTime.now().minusMinutes(id));
+        post.setUpdatedAt(post.getCreatedAt());
+        return post;
+    }
+    
+    public static List<PostResponseDTO> postResponses(int count) {
+        Random random = new Random(42);
+        List<PostResponseDTO> posts = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Post post = post(i, user(i % 50 + 1), random);
+            PostResponseDTO dto = new PostResponseDTO();
+            dto.setId(post.getId());
+            dto.setTitle(post.getTitle());
+            dto.setContent(post.getContent());
+            dto.setUserId(post.getUser().getId());
+            dto.setUserName(post.getUser().getName() + " " + post.getUser().getSurname());
+            dto.setCreatedAt(post.getCreatedAt());
+            dto.setUpdatedAt(post.getUpdatedAt());
+            posts.add(dto);
+        }
+        return posts;
+    }
+    
+    public static List<UserRequestDTO> userRequests(int from, int count) {
+        List<UserRequestDTO> users = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            UserRequestDTO user = new UserRequestDTO();
+            user.setEmail("user" + i + "@example.com");
+            user.setName("Ad" + i);
+            user.setSurname("Soyad" + i);
+            users.add(user);
+        }
+        return users;
+    }
+    
+    public static List<PostRequestDTO> postRequests(List<Long> userIds, int count, Random random) {
+        List<PostRequestDTO> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PostRequestDTO post = new PostRequestDTO();
+            post.setTitle(sentence(random, 3 + random.nextInt(6)));
+            post.setContent(content(random));
+            post.setUserId(userIds.get(random.nextInt(userIds.size())));
+            posts.add(post);
+        }
+        return posts;
+    }
+}
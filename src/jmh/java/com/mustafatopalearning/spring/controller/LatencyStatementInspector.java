@@ -0,0 +1,26 @@
+package com.mustafatopalearning.spring.controller;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Adds a fixed delay to every SQL statement, standing in for the network round trip of a remote database.
+ * The in-memory H2 answers in microseconds, which would hide the blocking that virtual threads are meant to absorb.
+ */
+public class LatencyStatementInspector implements StatementInspector {
+    
+    static final String LATENCY_PROPERTY = "benchmark.sql-latency-ms";
+    
+    // Read on every statement so the benchmark can seed its data first and switch the delay on afterwards.
+    @Override
+    public String inspect(String sql) {
+        long latencyMillis = Long.getLong(LATENCY_PROPERTY, 0);
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
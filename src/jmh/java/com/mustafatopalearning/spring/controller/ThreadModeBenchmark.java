@@ -0,0 +1,132 @@
+package com.mustafatopalearning.spring.controller;
+
+import com.mustafatopalearning.spring.Application;
+import com.mustafatopalearning.spring.BenchmarkData;
+import com.mustafatopalearning.spring.service.PostService;
+import com.mustafatopalearning.spring.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load comparison of the Tomcat request executor on virtual threads against the default platform-thread pool.
+ * Each invocation fires a burst of concurrent HTTP requests at a paged read endpoint and waits for all of them;
+ * every SQL statement is delayed by sqlLatencyMs to model a remote database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+    
+    private static final int USERS = 100;
+    private static final int POSTS = 5000;
+    
+    @Param({"true", "false"})
+    private boolean virtualThreads;
+    
+    @Param({"200", "1000"})
+    private int concurrency;
+    
+    @Param({"20"})
+    private int sqlLatencyMs;
+    
+    // Sized above the platform pool (200 threads) so the connection pool is not the first limit reached.
+    @Param({"400"})
+    private int connectionPoolSize;
+    
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private ExecutorService clientExecutor;
+    private List<URI> targets;
+    
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.SERVLET)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:threadmode;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + connectionPoolSize,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + LatencyStatementInspector.class.getName(),
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.com.mustafatopalearning.spring=WARN");
+        
+        List<Long> userIds = new ArrayList<>(USERS);
+        context.getBean(UserService.class).createUsers(BenchmarkData.userRequests(0, USERS))
+                .getResults().forEach(result -> userIds.add(result.getData().getId()));
+        context.getBean(PostService.class).createPosts(BenchmarkData.postRequests(userIds, POSTS, new Random(42)));
+        // Seeding runs without the artificial latency; only the measured requests pay for it.
+        System.setProperty(LatencyStatementInspector.LATENCY_PROPERTY, String.valueOf(sqlLatencyMs));
+        
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        targets = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            targets.add(URI.create(baseUrl + "/api/posts/user/" + userId + "/page?size=20&withTotal=false"));
+        }
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(LatencyStatementInspector.LATENCY_PROPERTY);
+        httpClient.close();
+        clientExecutor.close();
+        context.close();
+    }
+    
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            HttpRequest request = HttpRequest.newBuilder(targets.get(i % targets.size())).GET().build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int failed = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() != 200) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " istek başarısız oldu");
+        }
+        return responses.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.mustafatopalearning.spring.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mustafatopalearning.spring.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paging envelope construction and Jackson serialization of a full API response, as written by the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+    
+    private static final long TOTAL_ELEMENTS = 100_000;
+    
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private List<PostResponseDTO> content;
+    private ApiResponse<PageableResponse<PostResponseDTO>> response;
+    
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converter (ISO dates, JavaTimeModule).
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        content = BenchmarkData.postResponses(pageSize);
+        response = ApiResponse.success(PageableResponse.of(content, 3, pageSize, TOTAL_ELEMENTS));
+    }
+    
+    @Benchmark
+    public PageableResponse<PostResponseDTO> pageableResponseOf() {
+        return PageableResponse.of(content, 3, pageSize, TOTAL_ELEMENTS);
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,132 @@
+package com.mustafatopalearning.spring.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost on the request thread for one simulated request (a service DEBUG and INFO line, two SQL
+ * statements with three bound parameters each), written the way Hibernate guards its loggers.
+ * dev: synchronous file appender, application DEBUG, every statement and binding logged.
+ * prod: async appender, application INFO, SQL gated off (the common, unsampled request).
+ * prod-sampled: async appender with the SQL gate open, i.e. a sampled or post-slow request.
+ * Async modes measure the enqueue (or discard, once the writer falls behind) on the caller thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingOverheadBenchmark {
+    
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+    private static final String SQL = "select p1_0.id,p1_0.content,p1_0.created_at,p1_0.title,p1_0.updated_at,p1_0.user_id "
+            + "from posts p1_0 where p1_0.user_id=? and p1_0.created_at<? order by p1_0.created_at desc,p1_0.id desc fetch first ? rows only";
+    
+    @Param({"dev", "prod", "prod-sampled"})
+    private String mode;
+    
+    private LoggerContext context;
+    private Path logFile;
+    private Logger appLogger;
+    private Logger sqlLogger;
+    private Logger bindLogger;
+    private long requestId;
+    
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+        
+        Appender<ILoggingEvent> root = file;
+        boolean prod = !mode.equals("dev");
+        if (prod) {
+            DroppingAsyncAppender async = new DroppingAsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_FILE");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            root = async;
+            SqlLogGate gate = new SqlLogGate();
+            gate.setContext(context);
+            gate.start();
+            context.addTurboFilter(gate);
+        }
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(root);
+        
+        appLogger = context.getLogger("com.mustafatopalearning.spring.service.PostService");
+        appLogger.setLevel(prod ? Level.INFO : Level.DEBUG);
+        sqlLogger = context.getLogger("org.hibernate.SQL");
+        sqlLogger.setLevel(Level.DEBUG);
+        bindLogger = context.getLogger("org.hibernate.orm.jdbc.bind");
+        bindLogger.setLevel(Level.TRACE);
+        
+        if (mode.equals("prod-sampled")) {
+            SqlLogGate.open();
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        SqlLogGate.close();
+        context.stop();
+        Files.deleteIfExists(logFile);
+    }
+    
+    @Benchmark
+    public long request() {
+        long id = ++requestId;
+        appLogger.debug("Kullanıcının postları getiriliyor - kullanıcı ID: {}, sayfa: {}", id, 0);
+        for (int statement = 0; statement < 2; statement++) {
+            if (sqlLogger.isDebugEnabled()) {
+                sqlLogger.debug(SQL);
+            }
+            for (int parameter = 1; parameter <= 3; parameter++) {
+                if (bindLogger.isTraceEnabled()) {
+                    bindLogger.trace("binding parameter ({}:{}) <- [{}]", parameter, "BIGINT", id);
+                }
+            }
+        }
+        appLogger.info("Post başarıyla getirildi: ID {}", id);
+        return id;
+    }
+}
@@ -0,0 +1,135 @@
+package com.mustafatopalearning.spring.repository;
+
+import com.mustafatopalearning.spring.Application;
+import com.mustafatopalearning.spring.BenchmarkData;
+import com.mustafatopalearning.spring.dto.BatchItemResult;
+import com.mustafatopalearning.spring.dto.CursorResponse;
+import com.mustafatopalearning.spring.dto.PageableResponse;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.service.PostService;
+import com.mustafatopalearning.spring.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end reads through the services and repositories against an embedded H2 database.
+ * Each trial seeds the database once through the batch endpoints' service methods (about 50 posts per user).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RepositoryReadBenchmark {
+    
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH_SIZE = 5000;
+    private static final int POSTS_PER_USER = 50;
+    
+    @Param({"10000", "100000"})
+    private int postCount;
+    
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private PostRepository postRepository;
+    private Long authorId;
+    private int deepPage;
+    private String deepCursor;
+    
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.com.mustafatopalearning.spring=WARN");
+        postService = context.getBean(PostService.class);
+        postRepository = context.getBean(PostRepository.class);
+        UserService userService = context.getBean(UserService.class);
+        
+        int userCount = Math.max(1, postCount / POSTS_PER_USER);
+        List<Long> userIds = new ArrayList<>(userCount);
+        for (int from = 0; from < userCount; from += SEED_BATCH_SIZE) {
+            int count = Math.min(SEED_BATCH_SIZE, userCount - from);
+            for (BatchItemResult<UserResponseDTO> result
+                    : userService.createUsers(BenchmarkData.userRequests(from, count)).getResults()) {
+                userIds.add(result.getData().getId());
+            }
+        }
+        
+        Random random = new Random(42);
+        for (int from = 0; from < postCount; from += SEED_BATCH_SIZE) {
+            int count = Math.min(SEED_BATCH_SIZE, postCount - from);
+            postService.createPosts(BenchmarkData.postRequests(userIds, count, random));
+        }
+        
+        authorId = userIds.get(userIds.size() / 2);
+        deepPage = postCount / PAGE_SIZE / 2;
+        // Walks the feed to the same depth as deepPage so offset and keyset paging are compared on equal terms.
+        CursorResponse<PostResponseDTO> feed = postService.getFeed(null, PAGE_SIZE);
+        for (int page = 1; page < deepPage && feed.isHasNext(); page++) {
+            feed = postService.getFeed(feed.getNextCursor(), PAGE_SIZE);
+        }
+        deepCursor = feed.getNextCursor();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public PageableResponse<PostResponseDTO> firstPageWithTotal() {
+        return postService.getAllPosts(0, PAGE_SIZE, "createdAt", "desc", true);
+    }
+    
+    @Benchmark
+    public PageableResponse<PostResponseDTO> deepOffsetPage() {
+        return postService.getAllPosts(deepPage, PAGE_SIZE, "createdAt", "desc", false);
+    }
+    
+    @Benchmark
+    public CursorResponse<PostResponseDTO> deepFeedPage() {
+        return postService.getFeed(deepCursor, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public List<PostResponseDTO> postsOfUser() {
+        return postService.getPostsByUserId(authorId);
+    }
+    
+    @Benchmark
+    public PageableResponse<PostResponseDTO> searchByRelevance() {
+        return postService.searchPosts("performans önbellek", 0, PAGE_SIZE, PostService.SORT_BY_RELEVANCE, "desc", true);
+    }
+    
+    @Benchmark
+    public long countPosts() {
+        return postRepository.count();
+    }
+}
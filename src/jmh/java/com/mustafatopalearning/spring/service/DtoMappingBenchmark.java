@@ -0,0 +1,77 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.BenchmarkData;
+import com.mustafatopalearning.spring.cache.AuthorNameCache;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+    
+    private PostService postService;
+    private UserService userService;
+    private List<Post> posts;
+    private List<User> users;
+    
+    @Setup
+    public void setUp() {
+        // convertToDTO only reads author names, so the services are built without other collaborators.
+        AuthorNameCache authorNameCache = new AuthorNameCache(null, 10_000);
+        postService = new PostService(null, null, null, null, null, null, null, null, null, authorNameCache, null, null);
+        userService = new UserService(null, null, null, null, null, null, null, null, null, null);
+        
+        Random random = new Random(42);
+        posts = new ArrayList<>(pageSize);
+        users = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            User user = BenchmarkData.user(i);
+            users.add(user);
+            authorNameCache.onUserSaved(new UserSavedEvent(user.getId(), user.getName(), user.getSurname(), true));
+            posts.add(BenchmarkData.post(i, user, random));
+        }
+    }
+    
+    @Benchmark
+    public void convertPosts(Blackhole blackhole) {
+        for (Post post : posts) {
+            PostResponseDTO dto = postService.convertToDTO(post);
+            blackhole.consume(dto);
+        }
+    }
+    
+    @Benchmark
+    public void convertUsers(Blackhole blackhole) {
+        for (User user : users) {
+            UserResponseDTO dto = userService.convertToDTO(user);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.mustafatopalearning.spring.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mustafatopalearning.spring.Application;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts the application on an ephemeral port with its own in-memory database, seeds it over the batch
+ * endpoints and drives a traffic mix across every /api/posts and /api/users route. The load is an open
+ * model: requests are sent at Poisson-distributed arrival times whatever the response times, and latency
+ * is measured from the scheduled send time, so a stalled server shows up as queueing delay instead of a
+ * lower request rate (no coordinated omission). Throughput and p50/p95/p99/p999 per route are written
+ * as JSON.
+ *
+ * <pre>
+ * ./mvnw -Ploadtest -DskipTests verify -Dloadtest.args="rate=500 duration=1m mix=search-heavy"
+ * </pre>
+ */
+public final class LoadTest {
+    
+    private final LoadTestOptions options;
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        new LoadTest(options).run();
+    }
+    
+    private void run() throws Exception {
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.h2.console.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                "--logging.level.com.mustafatopalearning.spring=WARN"));
+        applicationArgs.addAll(options.applicationArgs);
+        
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.SERVLET)
+                .run(applicationArgs.toArray(String[]::new));
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .build()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Random random = new Random(options.seed);
+            Traffic traffic = new Traffic(httpClient, baseUrl, options.timeout);
+            
+            long seedStart = System.nanoTime();
+            traffic.seed(options, random);
+            System.out.printf("Veri yüklendi: %d kullanıcı, %d post (%d ms)%n", traffic.userCount(), traffic.postCount(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+            
+            long measuredNanos = drive(httpClient, traffic, random);
+            Map<String, Object> report = report(measuredNanos / 1e9);
+            Files.createDirectories(options.out.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.out.toFile(), report);
+            printSummary(measuredNanos / 1e9);
+            System.out.println("Sonuçlar: " + options.out.toAbsolutePath());
+        }
+    }
+    
+    // Returns the length of the measured window; requests scheduled during warm-up are sent but not recorded.
+    private long drive(HttpClient httpClient, Traffic traffic, Random random) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long next = start;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(httpClient, traffic, options.mix.pick(random), random, next, next >= measureFrom);
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+        }
+        long deadline = System.nanoTime() + options.timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return end - measureFrom;
+    }
+    
+    private void send(HttpClient httpClient, Traffic traffic, Route route, Random random, long scheduledNanos,
+                      boolean measured) {
+        RouteStats routeStats = stats.get(route);
+        if (inFlight.get() >= options.maxInFlight) {
+            if (measured) {
+                routeStats.recordDropped();
+            }
+            return;
+        }
+        HttpRequest request = traffic.request(route, random);
+        if (request == null) {
+            if (measured) {
+                routeStats.recordSkipped();
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        HttpResponse.BodyHandler<?> bodyHandler = route.readsBody()
+                ? HttpResponse.BodyHandlers.ofByteArray()
+                : HttpResponse.BodyHandlers.discarding();
+        httpClient.sendAsync(request, bodyHandler).whenComplete((response, failure) -> {
+            long latency = System.nanoTime() - scheduledNanos;
+            inFlight.decrementAndGet();
+            if (failure != null) {
+                if (measured) {
+                    routeStats.recordFailure(latency);
+                }
+                return;
+            }
+            if (measured) {
+                routeStats.record(response.statusCode(), latency);
+            }
+            try {
+                traffic.onResponse(route, response);
+            } catch (RuntimeException e) {
+                System.err.println("Yanıt okunamadı: " + route.label() + " " + e.getMessage());
+            }
+        });
+    }
+    
+    private Map<String, Object> report(double seconds) {
+        Histogram total = new Histogram(3);
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (Route route : Route.values()) {
+            RouteStats routeStats = stats.get(route);
+            total.add(routeStats.latencies());
+            Map<String, Object> routeReport = new LinkedHashMap<>();
+            routeReport.put("share", options.mix.share(route));
+            routeReport.putAll(routeStats.report(seconds));
+            routes.put(route.label(), routeReport);
+        }
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", total.getTotalCount());
+        totals.put("throughputPerSecond", Math.round(total.getTotalCount() / seconds * 1000) / 1000.0);
+        totals.put("latencyMillis", RouteStats.latencyReport(total));
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", options.describe());
+        report.put("measuredSeconds", seconds);
+        report.put("total", totals);
+        report.put("routes", routes);
+        return report;
+    }
+    
+    private void printSummary(double seconds) {
+        System.out.printf("%-44s %8s %9s %9s %9s %9s %9s  %s%n",
+                "Route", "İstek", "İstek/sn", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "Durumlar");
+        for (Route route : Route.values()) {
+            Map<String, Object> report = stats.get(route).report(seconds);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> latency = (Map<String, Object>) report.get("latencyMillis");
+            System.out.printf("%-44s %8d %9.1f %9s %9s %9s %9s  %s%n", route.label(), (long) report.get("requests"),
+                    (double) report.get("throughputPerSecond"), latency.getOrDefault("p50", "-"),
+                    latency.getOrDefault("p95", "-"), latency.getOrDefault("p99", "-"),
+                    latency.getOrDefault("p999", "-"), report.get("statuses"));
+        }
+    }
+}
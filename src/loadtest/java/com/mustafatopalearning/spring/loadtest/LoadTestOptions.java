@@ -0,0 +1,79 @@
+package com.mustafatopalearning.spring.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of the load test: {@code key=value} pairs, e.g. {@code rate=500 duration=1m mix=search-heavy}.
+ * Arguments starting with {@code --} are passed on to the application (e.g. {@code --app.limits.enabled=false}).
+ */
+final class LoadTestOptions {
+    
+    int users = 100;
+    int posts = 10_000;
+    // Extra posts and users that DELETE requests may remove without thinning out the seeded data.
+    int disposable = 1_000;
+    double rate = 200;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    TrafficMix mix = TrafficMix.READ_HEAVY;
+    long seed = 42;
+    int maxInFlight = 2_000;
+    Duration timeout = Duration.ofSeconds(30);
+    Path out = Path.of("target", "loadtest-result.json");
+    final List<String> applicationArgs = new ArrayList<>();
+    
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                options.applicationArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Argüman key=value biçiminde olmalı: " + arg);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(0, separator)) {
+                case "users" -> options.users = Integer.parseInt(value);
+                case "posts" -> options.posts = Integer.parseInt(value);
+                case "disposable" -> options.disposable = Integer.parseInt(value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "mix" -> options.mix = TrafficMix.parse(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "maxInFlight" -> options.maxInFlight = Integer.parseInt(value);
+                case "timeout" -> options.timeout = DurationStyle.detectAndParse(value);
+                case "out" -> options.out = Path.of(value);
+                default -> throw new IllegalArgumentException("Bilinmeyen argüman: " + arg);
+            }
+        }
+        if (options.users < 1 || options.posts < 1 || options.rate <= 0) {
+            throw new IllegalArgumentException("users, posts ve rate sıfırdan büyük olmalı");
+        }
+        return options;
+    }
+    
+    Map<String, Object> describe() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", users);
+        config.put("posts", posts);
+        config.put("disposable", disposable);
+        config.put("ratePerSecond", rate);
+        config.put("warmupSeconds", warmup.toMillis() / 1000.0);
+        config.put("durationSeconds", duration.toMillis() / 1000.0);
+        config.put("mix", mix.name().toLowerCase().replace('_', '-'));
+        config.put("seed", seed);
+        config.put("maxInFlight", maxInFlight);
+        config.put("applicationArgs", applicationArgs);
+        return config;
+    }
+}
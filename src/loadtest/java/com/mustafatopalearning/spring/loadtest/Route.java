@@ -0,0 +1,63 @@
+package com.mustafatopalearning.spring.loadtest;
+
+/**
+ * Every /api/posts and /api/users route the load test drives, with its weight in each traffic mix
+ * (read-heavy, search-heavy, write-heavy). Weights are relative within a mix.
+ */
+enum Route {
+    
+    POSTS("GET /api/posts", false, 1, 1, 1),
+    POSTS_STREAM("GET /api/posts [ndjson]", false, 1, 1, 1),
+    POSTS_PAGE("GET /api/posts/page", false, 100, 40, 60),
+    POSTS_PAGE_DEEP("GET /api/posts/page [deep]", false, 20, 10, 10),
+    POST_SUMMARIES("GET /api/posts/summaries", false, 80, 30, 40),
+    POSTS_FEED("GET /api/posts/feed", true, 60, 30, 40),
+    POSTS_FEED_AFTER("GET /api/posts/feed?after", true, 40, 20, 20),
+    POST("GET /api/posts/{id}", false, 250, 100, 120),
+    USER_POSTS("GET /api/posts/user/{userId}", false, 30, 10, 20),
+    USER_POSTS_STREAM("GET /api/posts/user/{userId} [ndjson]", false, 2, 2, 2),
+    USER_POSTS_PAGE("GET /api/posts/user/{userId}/page", false, 60, 20, 30),
+    USER_POST_SUMMARIES("GET /api/posts/user/{userId}/summaries", false, 40, 20, 20),
+    USER_POSTS_FEED("GET /api/posts/user/{userId}/feed", false, 30, 10, 20),
+    SEARCH("GET /api/posts/search", false, 10, 60, 10),
+    SEARCH_STREAM("GET /api/posts/search [ndjson]", false, 2, 10, 2),
+    SEARCH_PAGE("GET /api/posts/search/page", false, 30, 250, 20),
+    SEARCH_SUMMARIES("GET /api/posts/search/summaries", false, 20, 150, 10),
+    CREATE_POST("POST /api/posts", true, 20, 20, 150),
+    CREATE_POSTS("POST /api/posts/batch", true, 2, 2, 20),
+    UPDATE_POST("PUT /api/posts/{id}", false, 10, 10, 100),
+    DELETE_POST("DELETE /api/posts/{id}", false, 5, 5, 60),
+    USERS("GET /api/users", false, 1, 1, 1),
+    USERS_STREAM("GET /api/users [ndjson]", false, 1, 1, 1),
+    USERS_PAGE("GET /api/users/page", false, 30, 20, 20),
+    USERS_PAGE_DEEP("GET /api/users/page [deep]", false, 5, 5, 5),
+    USER("GET /api/users/{id}", false, 120, 60, 80),
+    USER_STATS("GET /api/users/{id}/stats", false, 40, 20, 30),
+    CREATE_USER("POST /api/users", true, 5, 5, 40),
+    CREATE_USERS("POST /api/users/batch", true, 1, 1, 5),
+    UPDATE_USER("PUT /api/users/{id}", false, 5, 5, 30),
+    DELETE_USER("DELETE /api/users/{id}", false, 2, 2, 20);
+    
+    private final String label;
+    // Whether the response body is read (created ids, feed cursors); other bodies are discarded unparsed.
+    private final boolean readsBody;
+    private final int[] weights;
+    
+    Route(String label, boolean readsBody, int... weights) {
+        this.label = label;
+        this.readsBody = readsBody;
+        this.weights = weights;
+    }
+    
+    String label() {
+        return label;
+    }
+    
+    boolean readsBody() {
+        return readsBody;
+    }
+    
+    int weight(TrafficMix mix) {
+        return weights[mix.ordinal()];
+    }
+}
@@ -0,0 +1,94 @@
+package com.mustafatopalearning.spring.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (microseconds, measured from the scheduled send time) and outcomes of one route.
+ */
+final class RouteStats {
+    
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+    
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    
+    void record(int status, long latencyNanos) {
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        latencies.recordValue(toMicros(latencyNanos));
+    }
+    
+    // No response at all (connection refused, timeout).
+    void recordFailure(long latencyNanos) {
+        failures.increment();
+        latencies.recordValue(toMicros(latencyNanos));
+    }
+    
+    // Not sent because maxInFlight requests were already outstanding: the client, not the server, fell behind.
+    void recordDropped() {
+        dropped.increment();
+    }
+    
+    // Not sent because there was nothing to act on (e.g. no disposable post left to delete).
+    void recordSkipped() {
+        skipped.increment();
+    }
+    
+    Histogram latencies() {
+        return latencies;
+    }
+    
+    long requests() {
+        return latencies.getTotalCount();
+    }
+    
+    Map<String, Object> report(double seconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", requests());
+        report.put("throughputPerSecond", round(requests() / seconds));
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(String.valueOf(status), count.sum()));
+        report.put("statuses", statusCounts);
+        report.put("failures", failures.sum());
+        report.put("dropped", dropped.sum());
+        report.put("skipped", skipped.sum());
+        report.put("latencyMillis", latencyReport(latencies));
+        return report;
+    }
+    
+    static Map<String, Object> latencyReport(Histogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        if (histogram.getTotalCount() == 0) {
+            return latency;
+        }
+        latency.put("mean", round(histogram.getMean() / 1000));
+        latency.put("p50", millis(histogram, 50));
+        latency.put("p95", millis(histogram, 95));
+        latency.put("p99", millis(histogram, 99));
+        latency.put("p999", millis(histogram, 99.9));
+        latency.put("max", round(histogram.getMaxValue() / 1000.0));
+        return latency;
+    }
+    
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+    
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
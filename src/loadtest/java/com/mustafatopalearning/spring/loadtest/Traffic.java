@@ -0,0 +1,297 @@
+package com.mustafatopalearning.spring.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.UserRequestDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeds the application over its own batch endpoints and builds the requests of each route against the
+ * seeded data. Seeded users and posts are only read and updated; DELETE requests take their targets from
+ * the disposable pools, which POST requests refill.
+ */
+final class Traffic {
+    
+    private static final String[] WORDS = {
+            "spring", "boot", "java", "veritabanı", "performans", "önbellek", "sorgu", "indeks", "kullanıcı",
+            "gönderi", "sayfa", "arama", "hibernate", "jackson", "bellek", "işlem", "güncelleme", "yazılım",
+            "mimari", "test", "ölçüm", "gecikme", "kapasite", "bağlantı", "havuz", "istek", "yanıt", "akış"
+    };
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_CURSORS = 1000;
+    private static final String NDJSON = "application/x-ndjson";
+    
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<String> userEmails = new ArrayList<>();
+    private final List<Long> postIds = new ArrayList<>();
+    private final Queue<Long> disposableUserIds = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> disposablePostIds = new ConcurrentLinkedQueue<>();
+    private final Queue<String> cursors = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cursorCount = new AtomicInteger();
+    private final AtomicLong emailSequence = new AtomicLong();
+    
+    Traffic(HttpClient httpClient, String baseUrl, Duration timeout) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+    
+    void seed(LoadTestOptions options, Random random) throws IOException, InterruptedException {
+        userIds.addAll(createUsers(options.users, random, userEmails));
+        List<Long> seeded = createPosts(options.posts, userIds, random);
+        postIds.addAll(seeded);
+        int disposableUsers = Math.max(1, options.disposable / 10);
+        disposableUserIds.addAll(createUsers(disposableUsers, random, null));
+        disposablePostIds.addAll(createPosts(options.disposable, userIds, random));
+    }
+    
+    int postCount() {
+        return postIds.size();
+    }
+    
+    int userCount() {
+        return userIds.size();
+    }
+    
+    // Null when the route has nothing to act on (see RouteStats.recordSkipped).
+    HttpRequest request(Route route, Random random) {
+        return switch (route) {
+            case POSTS -> get("/api/posts");
+            case POSTS_STREAM -> stream("/api/posts");
+            case POSTS_PAGE -> get("/api/posts/page?size=" + PAGE_SIZE + "&page=" + random.nextInt(5));
+            case POSTS_PAGE_DEEP -> get("/api/posts/page?size=" + PAGE_SIZE + "&page=" + deepPage(postIds.size(), random));
+            case POST_SUMMARIES -> get("/api/posts/summaries?size=" + PAGE_SIZE + "&page=" + random.nextInt(5));
+            case POSTS_FEED -> get("/api/posts/feed?size=" + PAGE_SIZE);
+            case POSTS_FEED_AFTER -> feedAfter();
+            case POST -> get("/api/posts/" + any(postIds, random));
+            case USER_POSTS -> get("/api/posts/user/" + any(userIds, random));
+            case USER_POSTS_STREAM -> stream("/api/posts/user/" + any(userIds, random));
+            case USER_POSTS_PAGE -> get("/api/posts/user/" + any(userIds, random) + "/page?size=" + PAGE_SIZE);
+            case USER_POST_SUMMARIES -> get("/api/posts/user/" + any(userIds, random) + "/summaries?size=" + PAGE_SIZE);
+            case USER_POSTS_FEED -> get("/api/posts/user/" + any(userIds, random) + "/feed?size=" + PAGE_SIZE);
+            case SEARCH -> get("/api/posts/search?keyword=" + keyword(random));
+            case SEARCH_STREAM -> stream("/api/posts/search?keyword=" + keyword(random));
+            case SEARCH_PAGE -> get("/api/posts/search/page?size=" + PAGE_SIZE + "&keyword=" + keyword(random));
+            case SEARCH_SUMMARIES -> get("/api/posts/search/summaries?size=" + PAGE_SIZE + "&keyword=" + keyword(random));
+            case CREATE_POST -> send("POST", "/api/posts", postRequest(any(userIds, random), random));
+            case CREATE_POSTS -> send("POST", "/api/posts/batch", postRequests(10, random));
+            case UPDATE_POST -> send("PUT", "/api/posts/" + any(postIds, random), postRequest(null, random));
+            case DELETE_POST -> delete("/api/posts/", disposablePostIds.poll());
+            case USERS -> get("/api/users");
+            case USERS_STREAM -> stream("/api/users");
+            case USERS_PAGE -> get("/api/users/page?size=" + PAGE_SIZE + "&page=" + random.nextInt(3));
+            case USERS_PAGE_DEEP -> get("/api/users/page?size=" + PAGE_SIZE + "&page=" + deepPage(userIds.size(), random));
+            case USER -> get("/api/users/" + any(userIds, random));
+            case USER_STATS -> get("/api/users/" + any(userIds, random) + "/stats");
+            case CREATE_USER -> send("POST", "/api/users", userRequest(newEmail(), random));
+            case CREATE_USERS -> send("POST", "/api/users/batch", userRequests(5, random));
+            case UPDATE_USER -> updateUser(random);
+            case DELETE_USER -> delete("/api/users/", disposableUserIds.poll());
+        };
+    }
+    
+    // Created posts and users become DELETE targets; feed pages hand out cursors for the next page.
+    void onResponse(Route route, HttpResponse<?> response) {
+        if (!(response.body() instanceof byte[] body) || response.statusCode() >= 300) {
+            return;
+        }
+        JsonNode data = read(body).path("data");
+        switch (route) {
+            case CREATE_POST -> addId(disposablePostIds, data);
+            case CREATE_POSTS -> data.path("results").forEach(result -> addId(disposablePostIds, result.path("data")));
+            case CREATE_USER -> addId(disposableUserIds, data);
+            case CREATE_USERS -> data.path("results").forEach(result -> addId(disposableUserIds, result.path("data")));
+            case POSTS_FEED, POSTS_FEED_AFTER -> addCursor(data.path("nextCursor").asText(null));
+            default -> {
+            }
+        }
+    }
+    
+    private List<Long> createUsers(int count, Random random, List<String> emails) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SEED_BATCH_SIZE) {
+            List<UserRequestDTO> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + SEED_BATCH_SIZE); i++) {
+                batch.add(userRequest(newEmail(), random));
+            }
+            for (JsonNode result : seedBatch("/api/users/batch", batch)) {
+                ids.add(result.path("data").path("id").asLong());
+                if (emails != null) {
+                    emails.add(result.path("data").path("email").asText());
+                }
+            }
+        }
+        return ids;
+    }
+    
+    private List<Long> createPosts(int count, List<Long> authors, Random random) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SEED_BATCH_SIZE) {
+            List<PostRequestDTO> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + SEED_BATCH_SIZE); i++) {
+                batch.add(postRequest(authors.get(i % authors.size()), random));
+            }
+            for (JsonNode result : seedBatch("/api/posts/batch", batch)) {
+                ids.add(result.path("data").path("id").asLong());
+            }
+        }
+        return ids;
+    }
+    
+    private JsonNode seedBatch(String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(send("POST", path, body), HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode data = read(response.body()).path("data");
+        if (response.statusCode() != 201 || data.path("failed").asInt() > 0) {
+            throw new IllegalStateException("Veri yüklenemedi: " + path + " -> " + response.statusCode()
+                    + " " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return data.path("results");
+    }
+    
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+    
+    private HttpRequest stream(String path) {
+        return builder(path).header("Accept", NDJSON).GET().build();
+    }
+    
+    private HttpRequest send(String method, String path, Object body) {
+        try {
+            return builder(path)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private HttpRequest delete(String path, Long id) {
+        return id == null ? null : builder(path + id).DELETE().build();
+    }
+    
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+    }
+    
+    private HttpRequest feedAfter() {
+        String cursor = cursors.poll();
+        if (cursor == null) {
+            return get("/api/posts/feed?size=" + PAGE_SIZE);
+        }
+        cursorCount.decrementAndGet();
+        return get("/api/posts/feed?size=" + PAGE_SIZE + "&after=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+    }
+    
+    private HttpRequest updateUser(Random random) {
+        int index = random.nextInt(userIds.size());
+        return send("PUT", "/api/users/" + userIds.get(index), userRequest(userEmails.get(index), random));
+    }
+    
+    private PostRequestDTO postRequest(Long userId, Random random) {
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle(sentence(random, 3 + random.nextInt(6)));
+        // Contents vary between roughly 40 and 200 words, like short blog posts.
+        request.setContent(sentence(random, 40 + random.nextInt(160)) + ".");
+        request.setUserId(userId);
+        return request;
+    }
+    
+    private List<PostRequestDTO> postRequests(int count, Random random) {
+        List<PostRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(postRequest(any(userIds, random), random));
+        }
+        return requests;
+    }
+    
+    private UserRequestDTO userRequest(String email, Random random) {
+        UserRequestDTO request = new UserRequestDTO();
+        request.setEmail(email);
+        request.setName("Ad" + random.nextInt(10_000));
+        request.setSurname("Soyad" + random.nextInt(10_000));
+        return request;
+    }
+    
+    private List<UserRequestDTO> userRequests(int count, Random random) {
+        List<UserRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(userRequest(newEmail(), random));
+        }
+        return requests;
+    }
+    
+    private String newEmail() {
+        return "loadtest" + emailSequence.incrementAndGet() + "@example.com";
+    }
+    
+    private void addId(Queue<Long> pool, JsonNode data) {
+        if (data.hasNonNull("id")) {
+            pool.add(data.get("id").asLong());
+        }
+    }
+    
+    private void addCursor(String cursor) {
+        if (cursor != null && cursorCount.incrementAndGet() <= MAX_CURSORS) {
+            cursors.add(cursor);
+        } else if (cursor != null) {
+            cursorCount.decrementAndGet();
+        }
+    }
+    
+    private JsonNode read(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // One of the last ten pages, where OFFSET pagination is slowest.
+    private static int deepPage(int rows, Random random) {
+        int lastPage = Math.max(0, (rows - 1) / PAGE_SIZE);
+        return Math.max(0, lastPage - random.nextInt(10));
+    }
+    
+    private static String keyword(Random random) {
+        return URLEncoder.encode(WORDS[random.nextInt(WORDS.length)], StandardCharsets.UTF_8);
+    }
+    
+    private static Long any(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+    
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
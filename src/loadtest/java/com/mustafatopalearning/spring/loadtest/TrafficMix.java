@@ -0,0 +1,47 @@
+package com.mustafatopalearning.spring.loadtest;
+
+import java.util.Locale;
+import java.util.Random;
+
+enum TrafficMix {
+    
+    READ_HEAVY,
+    SEARCH_HEAVY,
+    WRITE_HEAVY;
+    
+    private int[] cumulativeWeights;
+    
+    Route pick(Random random) {
+        int[] cumulative = cumulativeWeights();
+        int target = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (target < cumulative[i]) {
+                return Route.values()[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+    
+    double share(Route route) {
+        int[] cumulative = cumulativeWeights();
+        return (double) route.weight(this) / cumulative[cumulative.length - 1];
+    }
+    
+    static TrafficMix parse(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+    
+    private int[] cumulativeWeights() {
+        if (cumulativeWeights == null) {
+            Route[] routes = Route.values();
+            int[] cumulative = new int[routes.length];
+            int total = 0;
+            for (int i = 0; i < routes.length; i++) {
+                total += routes[i].weight(this);
+                cumulative[i] = total;
+            }
+            cumulativeWeights = cumulative;
+        }
+        return cumulativeWeights;
+    }
+}
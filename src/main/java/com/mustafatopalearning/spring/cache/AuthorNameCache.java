@@ -0,0 +1,113 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import com.mustafatopalearning.spring.repository.AuthorName;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User id to display name ("name surname") for authors, so post reads select only
+ * {@code posts.user_id} and never load or join the user row. Filled from the table at startup
+ * and kept current by user events after commit; a miss (e.g. before warm-up finishes, or an
+ * author evicted once the size bound is reached) reads the single name from the database.
+ */
+@Component
+public class AuthorNameCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AuthorNameCache.class);
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+    
+    private final UserRepository userRepository;
+    private final Cache<Long, String> names;
+    // Bumped by every user event before it touches the map; a load that started under an older generation may
+    // have read a row the event has since changed or deleted, so its result is returned but not cached.
+    private final AtomicLong generation = new AtomicLong();
+    
+    @Autowired
+    public AuthorNameCache(UserRepository userRepository,
+                           @Value("${app.cache.author-names.maximum-size:100000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.names = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+    
+    public String get(Long userId) {
+        String name = names.getIfPresent(userId);
+        if (name != null) {
+            return name;
+        }
+        // Loaded outside the map lock so the query does not block other keys.
+        long loadedAt = generation.get();
+        name = userRepository.findDisplayNameById(userId).orElse(null);
+        if (name == null) {
+            return null;
+        }
+        String cached = putIfCurrent(userId, name, loadedAt);
+        return cached != null ? cached : name;
+    }
+    
+    public long size() {
+        names.cleanUp();
+        return names.estimatedSize();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long lastId = 0;
+        List<AuthorName> batch;
+        do {
+            long loadedAt = generation.get();
+            batch = userRepository.findAuthorNameBatch(lastId, PageRequest.ofSize(WARM_UP_BATCH_SIZE));
+            for (AuthorName author : batch) {
+                putIfCurrent(author.getUserId(), author.getDisplayName(), loadedAt);
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getUserId();
+            }
+        } while (batch.size() == WARM_UP_BATCH_SIZE);
+        logger.info("Yazar adı önbelleği hazır: {} kullanıcı", size());
+    }
+    
+    // Runs before the response caches react to the same event, so a post they reload already sees the new name.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSaved(UserSavedEvent event) {
+        generation.incrementAndGet();
+        names.put(event.getUserId(), event.getName() + " " + event.getSurname());
+    }
+    
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        generation.incrementAndGet();
+        names.invalidate(event.getUserId());
+    }
+    
+    // Keeps an entry already present (an event wrote it, and events are never stale) and otherwise stores the
+    // loaded name only if no user event happened since the load began. Returns the cached name, if any.
+    private String putIfCurrent(Long userId, String name, long loadedAt) {
+        return names.asMap().compute(userId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return generation.get() == loadedAt ? name : null;
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through loading that runs the loader on the calling thread, outside Caffeine's map compute.
+ * {@code Cache.get(key, loader)} runs the loader under a ConcurrentHashMap bin lock (a synchronized block),
+ * so a database call inside it pins a virtual thread to its carrier. Here only an empty future is installed
+ * under the lock; concurrent callers for the same key wait on that future instead of loading again.
+ */
+final class CallerRunsLoading {
+    
+    private CallerRunsLoading() {
+    }
+    
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> placeholder = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> placeholder);
+        if (future == placeholder) {
+            V value;
+            try {
+                value = loader.apply(key);
+            } catch (Throwable e) {
+                // Errors too: waiters would otherwise block forever. Caffeine drops failed futures, so the
+                // next caller loads again.
+                placeholder.completeExceptionally(e);
+                throw e;
+            }
+            placeholder.complete(value);
+            return value;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters for the post and user collections, bumped after every committed write.
+ * List endpoints derive their ETag from these instead of hashing a rendered page. The epoch
+ * changes on every start, so ETags handed out before a restart never match again.
+ */
+@Component
+public class CollectionVersions {
+    
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong posts = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    public long posts() {
+        return posts.get();
+    }
+    
+    public long users() {
+        return users.get();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostSaved(PostSavedEvent event) {
+        posts.incrementAndGet();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        posts.incrementAndGet();
+    }
+    
+    // Post lists embed the author's name and lose the author's posts on delete, so both bump posts too.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSaved(UserSavedEvent event) {
+        users.incrementAndGet();
+        if (!event.isCreated()) {
+            posts.incrementAndGet();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        users.incrementAndGet();
+        posts.incrementAndGet();
+    }
+}
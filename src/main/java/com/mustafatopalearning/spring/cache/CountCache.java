@@ -0,0 +1,93 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Row counts behind PageableResponse totals. A count is computed once, then kept current by
+ * create/delete events after commit; the short TTL bounds any drift from writes that bypass the services.
+ */
+@Component
+public class CountCache {
+    
+    public static final String ALL_POSTS = "posts";
+    public static final String ALL_USERS = "users";
+    
+    private final AsyncCache<String, AtomicLong> counts;
+    
+    @Autowired
+    public CountCache(@Value("${app.cache.count-ttl:30s}") Duration ttl) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+    
+    public static String postsOfUser(Long userId) {
+        return "posts:user:" + userId;
+    }
+    
+    public long get(String key, LongSupplier counter) {
+        return CallerRunsLoading.get(counts, key, k -> new AtomicLong(counter.getAsLong())).get();
+    }
+    
+    public void invalidateAll() {
+        counts.synchronous().invalidateAll();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostSaved(PostSavedEvent event) {
+        if (event.isCreated()) {
+            add(ALL_POSTS, 1);
+            add(postsOfUser(event.getUserId()), 1);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        add(ALL_POSTS, -1);
+        add(postsOfUser(event.getUserId()), -1);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSaved(UserSavedEvent event) {
+        if (event.isCreated()) {
+            add(ALL_USERS, 1);
+        }
+    }
+    
+    // The user's posts were deleted in chunks before this event, each already subtracted through its
+    // PostDeletedEvent; only the user's own total, now zero, is dropped.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        add(ALL_USERS, -1);
+        counts.synchronous().invalidate(postsOfUser(event.getUserId()));
+    }
+    
+    // A count still loading may have been read before this write committed or after it, so neither applying
+    // nor skipping the delta is safe; the entry is dropped instead and the next read counts again.
+    private void add(String key, long delta) {
+        CompletableFuture<AtomicLong> count = counts.getIfPresent(key);
+        if (count == null) {
+            return;
+        }
+        if (count.isDone() && !count.isCompletedExceptionally()) {
+            count.join().addAndGet(delta);
+        } else {
+            counts.asMap().remove(key, count);
+        }
+    }
+}
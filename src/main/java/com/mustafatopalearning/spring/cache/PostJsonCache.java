@@ -0,0 +1,123 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mustafatopalearning.spring.dto.ApiResponse;
+import com.mustafatopalearning.spring.dto.CacheStatsDTO;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import com.mustafatopalearning.spring.service.ETags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fully serialized {@code GET /api/posts/{id}} bodies, so a hit skips DTO mapping, the ApiResponse
+ * wrapper and Jackson. Bounded by total bytes rather than entry count because post sizes vary widely;
+ * large bodies also keep a gzip copy. Entries are dropped after the post or its author changes.
+ */
+@Component
+public class PostJsonCache {
+    
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<Long, SerializedPost> posts;
+    private final int gzipMinSize;
+    
+    @Autowired
+    public PostJsonCache(ObjectMapper objectMapper,
+                         @Value("${app.cache.post-json.maximum-size:32MB}") DataSize maxSize,
+                         @Value("${app.cache.post-json.gzip-min-size:1KB}") DataSize gzipMinSize,
+                         @Value("${app.cache.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.posts = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, SerializedPost post) -> post.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+    
+    public SerializedPost get(Long id, Function<Long, PostResponseDTO> loader) {
+        return CallerRunsLoading.get(posts, id, postId -> serialize(loader.apply(postId)));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostSaved(PostSavedEvent event) {
+        posts.synchronous().invalidate(event.getPostId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        posts.synchronous().invalidate(event.getPostId());
+    }
+    
+    // The body embeds the author's display name; a new user has no cached posts yet.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSaved(UserSavedEvent event) {
+        if (!event.isCreated()) {
+            removeByUser(event.getUserId());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        removeByUser(event.getUserId());
+    }
+    
+    public CacheStatsDTO stats() {
+        Cache<Long, SerializedPost> cache = posts.synchronous();
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO("posts-json", cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+    
+    long weightedSize() {
+        return posts.synchronous().policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+    
+    void cleanUp() {
+        posts.synchronous().cleanUp();
+    }
+    
+    private void removeByUser(Long userId) {
+        posts.synchronous().asMap().values().removeIf(post -> userId.equals(post.getUserId()));
+    }
+    
+    private SerializedPost serialize(PostResponseDTO post) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(post));
+            byte[] gzip = json.length >= gzipMinSize ? gzip(json) : null;
+            return new SerializedPost(post.getUserId(), ETags.post(post), json,
+                    gzip != null && gzip.length < json.length ? gzip : null);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
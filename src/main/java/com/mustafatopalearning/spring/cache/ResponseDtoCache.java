@@ -0,0 +1,113 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mustafatopalearning.spring.dto.CacheStatsDTO;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for single post and user responses. Caffeine's W-TinyLFU
+ * admission keeps the hot entries when the cache is full. Entries are dropped after the
+ * transaction that changed them commits, right after {@link AuthorNameCache} and ahead of other
+ * listeners, so caches filled from this one (see {@link PostJsonCache}) never reload a stale entry.
+ */
+@Component
+public class ResponseDtoCache {
+    
+    private final AsyncCache<Long, PostResponseDTO> posts;
+    private final AsyncCache<Long, UserResponseDTO> users;
+    
+    @Autowired
+    public ResponseDtoCache(@Value("${app.cache.posts.maximum-size:10000}") long maxPosts,
+                            @Value("${app.cache.users.maximum-size:10000}") long maxUsers,
+                            @Value("${app.cache.ttl:10m}") Duration ttl) {
+        this.posts = Caffeine.newBuilder()
+                .maximumSize(maxPosts)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+    
+    public PostResponseDTO getPost(Long id, Function<Long, PostResponseDTO> loader) {
+        return CallerRunsLoading.get(posts, id, loader);
+    }
+    
+    public UserResponseDTO getUser(Long id, Function<Long, UserResponseDTO> loader) {
+        return CallerRunsLoading.get(users, id, loader);
+    }
+    
+    public PostResponseDTO getPostIfPresent(Long id) {
+        return posts.synchronous().getIfPresent(id);
+    }
+    
+    public UserResponseDTO getUserIfPresent(Long id) {
+        return users.synchronous().getIfPresent(id);
+    }
+    
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostSaved(PostSavedEvent event) {
+        posts.synchronous().invalidate(event.getPostId());
+    }
+    
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        posts.synchronous().invalidate(event.getPostId());
+    }
+    
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserSavedEvent event) {
+        users.synchronous().invalidate(event.getUserId());
+        String userName = event.getName() + " " + event.getSurname();
+        // Cached posts carry the author's display name, so they are rewritten rather than dropped.
+        posts.synchronous().asMap().replaceAll((id, post) -> event.getUserId().equals(post.getUserId())
+                ? withUserName(post, userName)
+                : post);
+    }
+    
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        users.synchronous().invalidate(event.getUserId());
+        posts.synchronous().asMap().values().removeIf(post -> event.getUserId().equals(post.getUserId()));
+    }
+    
+    public List<CacheStatsDTO> stats() {
+        return List.of(toStats("posts", posts.synchronous()), toStats("users", users.synchronous()));
+    }
+    
+    private static CacheStatsDTO toStats(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+    
+    private static PostResponseDTO withUserName(PostResponseDTO post, String userName) {
+        return new PostResponseDTO(post.getId(), post.getTitle(), post.getContent(), post.getUserId(),
+                userName, post.getCreatedAt(), post.getUpdatedAt());
+    }
+}
@@ -0,0 +1,93 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.mustafatopalearning.spring.dto.CacheStatsDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Regions of the Hibernate second-level cache: User entities and cached query results. They live in a Caffeine-backed JCache manager owned by this bean and handed to
+ * Hibernate (see SecondLevelCacheConfig), so sizes and expiry come from app.cache.l2.* and hit rates
+ * show up in /api/cache/stats and under the cache.* metrics (cache=l2.*).
+ */
+@Component
+public class SecondLevelCache implements MeterBinder {
+    
+    public static final String USERS = "users";
+    public static final String POSTS_BY_USER = "posts-by-user";
+    // Hibernate's default query region and its table-modification timestamps; the latter must never evict.
+    static final String DEFAULT_QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+    
+    private static final List<String> MONITORED_REGIONS = List.of(USERS, POSTS_BY_USER);
+    
+    private final CacheManager cacheManager;
+    
+    @Autowired
+    public SecondLevelCache(@Value("${app.cache.l2.users.maximum-size:10000}") long maxUsers,
+                            @Value("${app.cache.l2.queries.maximum-size:1000}") long maxQueries,
+                            @Value("${app.cache.l2.ttl:10m}") Duration ttl) {
+        // A provider of its own keeps the manager private to this application context.
+        this.cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(USERS, region(maxUsers, ttl));
+        cacheManager.createCache(POSTS_BY_USER, region(maxQueries, ttl));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS, region(maxQueries, ttl));
+        cacheManager.createCache(UPDATE_TIMESTAMPS, new CaffeineConfiguration<>().setStoreByValue(false));
+    }
+    
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+    
+    public List<CacheStatsDTO> stats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+        for (String region : MONITORED_REGIONS) {
+            Cache<?, ?> cache = nativeCache(region);
+            CacheStats cacheStats = cache.stats();
+            stats.add(new CacheStatsDTO("l2." + region, cache.estimatedSize(), cacheStats.hitCount(),
+                    cacheStats.missCount(), cacheStats.hitRate(), cacheStats.evictionCount()));
+        }
+        return stats;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : MONITORED_REGIONS) {
+            CaffeineCacheMetrics.monitor(registry, nativeCache(region), "l2." + region);
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        cacheManager.getCachingProvider().close();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Cache<?, ?> nativeCache(String name) {
+        return cacheManager.getCache(name).unwrap(Cache.class);
+    }
+    
+    // Hibernate stores immutable disassembled state, so entries are kept by reference instead of copied.
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                .setNativeStatisticsEnabled(true)
+                .setStoreByValue(false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mustafatopalearning.spring.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SerializedPost {
+    private Long userId;
+    private String etag;
+    private byte[] json;
+    // Null when the body is below the compression threshold or gzip would not make it smaller.
+    private byte[] gzip;
+    
+    int weight() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
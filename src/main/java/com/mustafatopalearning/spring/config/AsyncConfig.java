@@ -0,0 +1,11 @@
+package com.mustafatopalearning.spring.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods and MVC async work (streaming responses) share Spring Boot's applicationTaskExecutor,
+// which runs on virtual threads while spring.threads.virtual.enabled is true.
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,27 @@
+package com.mustafatopalearning.spring.config;
+
+import com.mustafatopalearning.spring.limit.ConcurrencyLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Runs before the other interceptors so a rejected request costs no more than the handler lookup.
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+    
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    
+    @Autowired
+    public ConcurrencyLimitConfig(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/posts/**", "/api/users/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
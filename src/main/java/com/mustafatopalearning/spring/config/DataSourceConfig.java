@@ -0,0 +1,93 @@
+package com.mustafatopalearning.spring.config;
+
+import com.mustafatopalearning.spring.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split, active when app.datasource.replica.url is set. Read-only transactions run on the
+ * replica pool, everything else on the primary. The proxy hands out connections lazily, so the choice
+ * is made at the first statement, after the transaction manager has marked the connection read-only.
+ * Without the property Spring Boot's single auto-configured pool is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class DataSourceConfig {
+    
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+    
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryDataSourceProperties) {
+        return pool(primaryDataSourceProperties, "primary");
+    }
+    
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+    
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties replicaProperties,
+                                              DataSourceProperties primaryDataSourceProperties) {
+        // Credentials and driver default to the primary's; a replica usually differs only in its URL.
+        if (!StringUtils.hasText(replicaProperties.getUsername())) {
+            replicaProperties.setUsername(primaryDataSourceProperties.getUsername());
+            replicaProperties.setPassword(primaryDataSourceProperties.getPassword());
+        }
+        if (!StringUtils.hasText(replicaProperties.getDriverClassName())) {
+            replicaProperties.setDriverClassName(primaryDataSourceProperties.getDriverClassName());
+        }
+        return pool(replicaProperties, "replica");
+    }
+    
+    @Bean(defaultCandidate = false)
+    public ReplicaDataSource readOnlyDataSource(@Qualifier("replicaDataSource") HikariDataSource replica,
+                                                @Qualifier("primaryDataSource") HikariDataSource primary) {
+        return new ReplicaDataSource(replica, primary);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                 @Qualifier("readOnlyDataSource") ReplicaDataSource readOnlyDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(readOnlyDataSource);
+        return proxy;
+    }
+    
+    @Bean
+    public MeterBinder replicaFallbackMetrics(@Qualifier("readOnlyDataSource") ReplicaDataSource readOnlyDataSource) {
+        return registry -> FunctionCounter.builder("datasource.replica.fallbacks", readOnlyDataSource,
+                        ReplicaDataSource::getFallbackCount)
+                .description("Replika bağlantısı alınamadığı için birincil veritabanında çalışan okuma sayısı")
+                .register(registry);
+    }
+    
+    private static HikariDataSource pool(DataSourceProperties properties, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!StringUtils.hasText(dataSource.getPoolName())) {
+            dataSource.setPoolName(name);
+        }
+        return dataSource;
+    }
+}
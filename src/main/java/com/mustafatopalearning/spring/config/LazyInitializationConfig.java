@@ -0,0 +1,22 @@
+package com.mustafatopalearning.spring.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+// With spring.main.lazy-initialization=true (prod profile) the data source and the EntityManagerFactory are still
+// created at startup, so connection and schema validation errors fail the start instead of the first request.
+// @Scheduled beans are kept eager by Spring Boot itself.
+@Configuration
+public class LazyInitializationConfig {
+    
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistenceBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                AbstractEntityManagerFactoryBean.class);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mustafatopalearning.spring.config;
+
+import com.mustafatopalearning.spring.logging.SqlLogSamplingInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class LoggingConfig implements WebMvcConfigurer {
+    
+    private final SqlLogSamplingInterceptor sqlLogSamplingInterceptor;
+    
+    @Autowired
+    public LoggingConfig(SqlLogSamplingInterceptor sqlLogSamplingInterceptor) {
+        this.sqlLogSamplingInterceptor = sqlLogSamplingInterceptor;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlLogSamplingInterceptor).addPathPatterns("/api/**");
+    }
+}
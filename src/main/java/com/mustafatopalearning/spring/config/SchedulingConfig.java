@@ -0,0 +1,10 @@
+package com.mustafatopalearning.spring.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled jobs (UserPostStatsReconciler) run on Spring Boot's taskScheduler.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,18 @@
+package com.mustafatopalearning.spring.config;
+
+import com.mustafatopalearning.spring.cache.SecondLevelCache;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Hibernate's JCache region factory (spring.jpa.properties.hibernate.cache.*) uses the manager built by
+// SecondLevelCache, whose regions already exist with their limits; a region it does not know fails startup.
+@Configuration
+public class SecondLevelCacheConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCache secondLevelCache) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCache.getCacheManager());
+    }
+}
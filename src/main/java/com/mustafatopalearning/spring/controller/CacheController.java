@@ -0,0 +1,44 @@
+package com.mustafatopalearning.spring.controller;
+
+import com.mustafatopalearning.spring.cache.PostJsonCache;
+import com.mustafatopalearning.spring.cache.ResponseDtoCache;
+import com.mustafatopalearning.spring.cache.SecondLevelCache;
+import com.mustafatopalearning.spring.dto.ApiResponse;
+import com.mustafatopalearning.spring.dto.CacheStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache Controller", description = "Önbellek istatistikleri")
+public class CacheController {
+    
+    private final ResponseDtoCache responseDtoCache;
+    private final PostJsonCache postJsonCache;
+    private final SecondLevelCache secondLevelCache;
+    
+    @Autowired
+    public CacheController(ResponseDtoCache responseDtoCache, PostJsonCache postJsonCache,
+                           SecondLevelCache secondLevelCache) {
+        this.responseDtoCache = responseDtoCache;
+        this.postJsonCache = postJsonCache;
+        this.secondLevelCache = secondLevelCache;
+    }
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Önbellek istatistikleri", description = "Post, kullanıcı, serileştirilmiş post ve Hibernate ikinci seviye önbelleklerinin hit, miss ve eviction sayılarını getirir")
+    public ResponseEntity<ApiResponse<List<CacheStatsDTO>>> getStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>(responseDtoCache.stats());
+        stats.add(postJsonCache.stats());
+        stats.addAll(secondLevelCache.stats());
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+}
@@ -0,0 +1,33 @@
+package com.mustafatopalearning.spring.controller;
+
+import com.mustafatopalearning.spring.dto.ApiResponse;
+import com.mustafatopalearning.spring.dto.ConcurrencyLimitStatsDTO;
+import com.mustafatopalearning.spring.limit.ConcurrencyLimitInterceptor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/limits")
+@Tag(name = "Concurrency Limit Controller", description = "Eşzamanlılık sınırları")
+public class ConcurrencyLimitController {
+    
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    
+    @Autowired
+    public ConcurrencyLimitController(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Eşzamanlılık sınırı istatistikleri", description = "Arama, tekil okuma ve diğer istek grupları için güncel sınırı, işlenmekte olan ve reddedilen istek sayısını getirir")
+    public ResponseEntity<ApiResponse<List<ConcurrencyLimitStatsDTO>>> getStats() {
+        return ResponseEntity.ok(ApiResponse.success(concurrencyLimitInterceptor.stats()));
+    }
+}
@@ -1,18 +1,30 @@
 package com.mustafatopalearning.spring.controller;
 
+import com.mustafatopalearning.spring.cache.PostJsonCache;
+import com.mustafatopalearning.spring.cache.SerializedPost;
 import com.mustafatopalearning.spring.dto.ApiResponse;
+import com.mustafatopalearning.spring.dto.BatchResponse;
+import com.mustafatopalearning.spring.dto.CursorResponse;
 import com.mustafatopalearning.spring.dto.PageableResponse;
 import com.mustafatopalearning.spring.dto.PostRequestDTO;
 import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.PostSummaryDTO;
+import com.mustafatopalearning.spring.dto.PostWriteStatusDTO;
+import com.mustafatopalearning.spring.service.ETags;
 import com.mustafatopalearning.spring.service.PostService;
+import com.mustafatopalearning.spring.service.PostWriteBehind;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -21,10 +33,17 @@ import java.util.List;
 public class PostController {
     
     private final PostService postService;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final PostJsonCache postJsonCache;
+    private final PostWriteBehind postWriteBehind;
     
     @Autowired
-    public PostController(PostService postService) {
+    public PostController(PostService postService, NdjsonStreamWriter ndjsonStreamWriter, PostJsonCache postJsonCache,
+                          PostWriteBehind postWriteBehind) {
         this.postService = postService;
+        this.ndjsonStreamWriter = ndjsonStreamWriter;
+        this.postJsonCache = postJsonCache;
+        this.postWriteBehind = postWriteBehind;
     }
     
     @GetMapping
@@ -34,22 +53,83 @@ public class PostController {
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
     
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Tüm postları akış olarak listele", description = "Tüm postları NDJSON olarak satır satır gönderir (Accept: application/x-ndjson)")
+    public ResponseEntity<StreamingResponseBody> streamAllPosts() {
+        return ndjsonStreamWriter.<PostResponseDTO>stream(postService::streamAllPosts);
+    }
+    
     @GetMapping("/page")
-    @Operation(summary = "Sayfalanmış post listesi", description = "Pagination ile postları getirir")
+    @Operation(summary = "Sayfalanmış post listesi", description = "Pagination ile postları getirir (withTotal=false ile COUNT sorgusu çalıştırılmaz)")
     public ResponseEntity<ApiResponse<PageableResponse<PostResponseDTO>>> getAllPostsPageable(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
-        PageableResponse<PostResponseDTO> posts = postService.getAllPosts(page, size, sortBy, sortDir);
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = postService.getPostsETag();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        PageableResponse<PostResponseDTO> posts = postService.getAllPosts(page, size, sortBy, sortDir, withTotal);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(posts));
+    }
+    
+    @GetMapping("/summaries")
+    @Operation(summary = "Sayfalanmış post özetleri", description = "Postları içerik yerine kısa bir özetle (excerpt) getirir; post içeriği okunmaz")
+    public ResponseEntity<ApiResponse<PageableResponse<PostSummaryDTO>>> getPostSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = postService.getPostsETag();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        PageableResponse<PostSummaryDTO> summaries = postService.getPostSummaries(page, size, sortBy, sortDir, withTotal);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(summaries));
+    }
+    
+    @GetMapping("/feed")
+    @Operation(summary = "Post akışı", description = "Cursor tabanlı (keyset) sayfalama ile en yeni postları getirir")
+    public ResponseEntity<ApiResponse<CursorResponse<PostResponseDTO>>> getFeed(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorResponse<PostResponseDTO> posts = postService.getFeed(after, size);
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
     
     @GetMapping("/{id}")
-    @Operation(summary = "ID'ye göre post getir", description = "Belirtilen ID'ye sahip postu getirir")
-    public ResponseEntity<ApiResponse<PostResponseDTO>> getPostById(@PathVariable Long id) {
-        PostResponseDTO post = postService.getPostById(id);
-        return ResponseEntity.ok(ApiResponse.success(post));
+    @Operation(summary = "ID'ye göre post getir", description = "Belirtilen ID'ye sahip postu getirir (yanıt önceden serileştirilmiş olarak önbellekten yazılır)")
+    public ResponseEntity<byte[]> getPostById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (ifNoneMatch != null) {
+            String etag = matchingETag(ifNoneMatch, postService.getPostETag(id));
+            if (etag != null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        SerializedPost post = postJsonCache.get(id, postService::getPostById);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (post.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.eTag(ETags.gzip(post.getEtag()))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(post.getGzip());
+        }
+        return response.eTag(post.getEtag()).body(post.getJson());
+    }
+    
+    @GetMapping("/{id}/write-status")
+    @Operation(summary = "Kuyruğa alınan postun durumu", description = "202 ile kabul edilen bir postun yazılmayı beklediğini (PENDING), yazıldığını (WRITTEN) ya da veritabanı tarafından reddedildiğini (FAILED) döner")
+    public ResponseEntity<ApiResponse<PostWriteStatusDTO>> getPostWriteStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(postWriteBehind.getStatus(id)));
     }
     
     @GetMapping("/user/{userId}")
@@ -59,45 +139,145 @@ public class PostController {
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
     
+    @GetMapping(value = "/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Kullanıcının postlarını akış olarak listele", description = "Kullanıcının tüm postlarını NDJSON olarak satır satır gönderir (Accept: application/x-ndjson)")
+    public ResponseEntity<StreamingResponseBody> streamPostsByUserId(@PathVariable Long userId) {
+        postService.ensureUserExists(userId);
+        return ndjsonStreamWriter.<PostResponseDTO>stream(sink -> postService.streamPostsByUserId(userId, sink));
+    }
+    
     @GetMapping("/user/{userId}/page")
-    @Operation(summary = "Kullanıcının sayfalanmış postları", description = "Pagination ile kullanıcının postlarını getirir")
+    @Operation(summary = "Kullanıcının sayfalanmış postları", description = "Pagination ile kullanıcının postlarını getirir (withTotal=false ile COUNT sorgusu çalıştırılmaz)")
     public ResponseEntity<ApiResponse<PageableResponse<PostResponseDTO>>> getPostsByUserIdPageable(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
-        PageableResponse<PostResponseDTO> posts = postService.getPostsByUserId(userId, page, size, sortBy, sortDir);
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = postService.getPostsETag();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        PageableResponse<PostResponseDTO> posts = postService.getPostsByUserId(userId, page, size, sortBy, sortDir, withTotal);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(posts));
+    }
+    
+    @GetMapping("/user/{userId}/summaries")
+    @Operation(summary = "Kullanıcının post özetleri", description = "Kullanıcının postlarını içerik yerine kısa bir özetle (excerpt) getirir")
+    public ResponseEntity<ApiResponse<PageableResponse<PostSummaryDTO>>> getPostSummariesByUserId(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = postService.getPostsETag();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        PageableResponse<PostSummaryDTO> summaries = postService.getPostSummariesByUserId(userId, page, size, sortBy, sortDir, withTotal);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(summaries));
+    }
+    
+    @GetMapping("/user/{userId}/feed")
+    @Operation(summary = "Kullanıcının post akışı", description = "Cursor tabanlı (keyset) sayfalama ile kullanıcının postlarını getirir")
+    public ResponseEntity<ApiResponse<CursorResponse<PostResponseDTO>>> getFeedByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorResponse<PostResponseDTO> posts = postService.getFeedByUserId(userId, after, size);
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Post ara", description = "Anahtar kelimeye göre post arama yapar")
+    @Operation(summary = "Post ara", description = "Anahtar kelimeye göre post arama yapar. Post aranan tüm kelimeleri içermelidir; kelimeler ön ek olarak eşleşir (fotoğraf → fotoğrafçılık), kelime ortasından eşleşme yapılmaz. En alakalı ilk " + PostService.MAX_SEARCH_RESULTS + " sonuç döner")
     public ResponseEntity<ApiResponse<List<PostResponseDTO>>> searchPosts(@RequestParam String keyword) {
         List<PostResponseDTO> posts = postService.searchPosts(keyword);
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
     
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Post arama sonuçlarını akış olarak getir", description = "Arama sonuçlarını NDJSON olarak satır satır gönderir (Accept: application/x-ndjson). En alakalı ilk " + PostService.MAX_SEARCH_RESULTS + " sonuç gönderilir")
+    public ResponseEntity<StreamingResponseBody> streamSearchResults(@RequestParam String keyword) {
+        return ndjsonStreamWriter.<PostResponseDTO>stream(sink -> postService.streamSearchResults(keyword, sink));
+    }
+    
     @GetMapping("/search/page")
-    @Operation(summary = "Sayfalanmış post arama", description = "Pagination ile post arama yapar")
+    @Operation(summary = "Sayfalanmış post arama", description = "Pagination ile post arama yapar (varsayılan sıralama: BM25 alaka skoru). Post aranan tüm kelimeleri içermelidir; kelimeler ön ek olarak eşleşir, kelime ortasından eşleşme yapılmaz. Sıralama alaka skoru dışında id, title, createdAt veya updatedAt olabilir; ilk " + PostService.MAX_SEARCH_RESULTS + " sonucun ötesine sayfalanamaz. Çok kısa bir önek çok fazla kelimeyle eşleşirse en sık geçen kelimeler aranır ve approximate=true döner")
     public ResponseEntity<ApiResponse<PageableResponse<PostResponseDTO>>> searchPostsPageable(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
-        PageableResponse<PostResponseDTO> posts = postService.searchPosts(keyword, page, size, sortBy, sortDir);
-        return ResponseEntity.ok(ApiResponse.success(posts));
+            @RequestParam(defaultValue = PostService.SORT_BY_RELEVANCE) String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = postService.getPostsETag();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        PageableResponse<PostResponseDTO> posts = postService.searchPosts(keyword, page, size, sortBy, sortDir, withTotal);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(posts));
+    }
+    
+    @GetMapping("/search/summaries")
+    @Operation(summary = "Post özetlerinde arama", description = "Arama sonuçlarını içerik yerine kısa bir özetle (excerpt) getirir (varsayılan sıralama: BM25 alaka skoru). Post aranan tüm kelimeleri içermelidir; kelimeler ön ek olarak eşleşir, kelime ortasından eşleşme yapılmaz. Sıralama alaka skoru dışında id, title, createdAt veya updatedAt olabilir; ilk " + PostService.MAX_SEARCH_RESULTS + " sonucun ötesine sayfalanamaz. Çok kısa bir önek çok fazla kelimeyle eşleşirse en sık geçen kelimeler aranır ve approximate=true döner")
+    public ResponseEntity<ApiResponse<PageableResponse<PostSummaryDTO>>> searchPostSummaries(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = PostService.SORT_BY_RELEVANCE) String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = postService.getPostsETag();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        PageableResponse<PostSummaryDTO> summaries = postService.searchPostSummaries(keyword, page, size, sortBy, sortDir, withTotal);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(summaries));
     }
     
     @PostMapping
-    @Operation(summary = "Yeni post oluştur", description = "Yeni bir post oluşturur")
+    @Operation(summary = "Yeni post oluştur", description = "Yeni bir post oluşturur. Yazma kuyruğu etkinse post günlüğe yazılıp kuyruğa alınır ve 202 ile ID'si döner (durumu /api/posts/{id}/write-status ile izlenir); kuyruk doluysa 503 döner")
     public ResponseEntity<ApiResponse<PostResponseDTO>> createPost(@Valid @RequestBody PostRequestDTO postRequestDTO) {
+        if (postWriteBehind.isEnabled()) {
+            PostResponseDTO acceptedPost = postWriteBehind.submit(postRequestDTO);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/posts/" + acceptedPost.getId()))
+                    .body(ApiResponse.success("Post kabul edildi, kaydediliyor", acceptedPost));
+        }
         PostResponseDTO createdPost = postService.createPost(postRequestDTO);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Post başarıyla oluşturuldu", createdPost));
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Toplu post oluştur", description = "Tek istekte en fazla 5000 post oluşturur; her kayıt için ayrı sonuç döner ve hatalı kayıtlar diğerlerini geri almaz")
+    public ResponseEntity<ApiResponse<BatchResponse<PostResponseDTO>>> createPosts(@RequestBody List<PostRequestDTO> postRequestDTOs) {
+        BatchResponse<PostResponseDTO> result = postService.createPosts(postRequestDTOs);
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status)
+                .body(ApiResponse.success(result.getSucceeded() + " kayıt oluşturuldu, " + result.getFailed() + " kayıt başarısız", result));
+    }
+    
+    @PostMapping("/write-behind/failed/retry")
+    @Operation(summary = "Yazılamayan postları tekrar dene", description = "Yazma kuyruğunda veritabanı tarafından reddedilen (FAILED) postları tekrar yazar; hâlâ reddedilenler listede kalır")
+    public ResponseEntity<ApiResponse<Integer>> retryFailedPosts() {
+        int written = postWriteBehind.retryDeadLetters();
+        return ResponseEntity.ok(ApiResponse.success(written + " post yazıldı", written));
+    }
+    
+    @DeleteMapping("/write-behind/failed")
+    @Operation(summary = "Yazılamayan postları sil", description = "Yazma kuyruğunda veritabanı tarafından reddedilen (FAILED) postları kalıcı olarak siler; durumları artık sorgulanamaz (404)")
+    public ResponseEntity<ApiResponse<Integer>> purgeFailedPosts() {
+        int purged = postWriteBehind.purgeDeadLetters();
+        return ResponseEntity.ok(ApiResponse.success(purged + " post silindi", purged));
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Post güncelle", description = "Belirtilen ID'ye sahip postu günceller")
     public ResponseEntity<ApiResponse<PostResponseDTO>> updatePost(
@@ -113,5 +293,25 @@ public class PostController {
         postService.deletePost(id);
         return ResponseEntity.ok(ApiResponse.success("Post başarıyla silindi", null));
     }
+    
+    private static String matchingETag(String ifNoneMatch, String etag) {
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return etag;
+        }
+        String gzipETag = ETags.gzip(etag);
+        return ETags.matches(ifNoneMatch, gzipETag) ? gzipETag : null;
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
-
@@ -1,17 +1,23 @@
 package com.mustafatopalearning.spring.controller;
 
 import com.mustafatopalearning.spring.dto.ApiResponse;
+import com.mustafatopalearning.spring.dto.BatchResponse;
 import com.mustafatopalearning.spring.dto.PageableResponse;
 import com.mustafatopalearning.spring.dto.UserRequestDTO;
 import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.dto.UserStatsDTO;
+import com.mustafatopalearning.spring.service.ETags;
 import com.mustafatopalearning.spring.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,10 +27,12 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
     
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, NdjsonStreamWriter ndjsonStreamWriter) {
         this.userService = userService;
+        this.ndjsonStreamWriter = ndjsonStreamWriter;
     }
     
     @GetMapping
@@ -34,22 +42,48 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(users));
     }
     
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Tüm kullanıcıları akış olarak listele", description = "Tüm kullanıcıları NDJSON olarak satır satır gönderir (Accept: application/x-ndjson)")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return ndjsonStreamWriter.<UserResponseDTO>stream(userService::streamAllUsers);
+    }
+    
     @GetMapping("/page")
-    @Operation(summary = "Sayfalanmış kullanıcı listesi", description = "Pagination ile kullanıcıları getirir")
+    @Operation(summary = "Sayfalanmış kullanıcı listesi", description = "Pagination ile kullanıcıları getirir (withTotal=false ile COUNT sorgusu çalıştırılmaz)")
     public ResponseEntity<ApiResponse<PageableResponse<UserResponseDTO>>> getAllUsersPageable(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
-        PageableResponse<UserResponseDTO> users = userService.getAllUsers(page, size, sortBy, sortDir);
-        return ResponseEntity.ok(ApiResponse.success(users));
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = userService.getUsersETag();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        PageableResponse<UserResponseDTO> users = userService.getAllUsers(page, size, sortBy, sortDir, withTotal);
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(users));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "ID'ye göre kullanıcı getir", description = "Belirtilen ID'ye sahip kullanıcıyı getirir")
-    public ResponseEntity<ApiResponse<UserResponseDTO>> getUserById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<UserResponseDTO>> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = userService.getUserETag(id);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         UserResponseDTO user = userService.getUserById(id);
-        return ResponseEntity.ok(ApiResponse.success(user));
+        return ResponseEntity.ok().eTag(ETags.user(user.getId(), user.getVersion())).body(ApiResponse.success(user));
+    }
+    
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Kullanıcı istatistikleri", description = "Kullanıcının post sayısını sayım sorgusu çalıştırmadan getirir")
+    public ResponseEntity<ApiResponse<UserStatsDTO>> getUserStats(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(userService.getUserStats(id)));
     }
     
     @PostMapping
@@ -60,6 +94,15 @@ public class UserController {
                 .body(ApiResponse.success("Kullanıcı başarıyla oluşturuldu", createdUser));
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Toplu kullanıcı oluştur", description = "Tek istekte en fazla 5000 kullanıcı oluşturur; her kayıt için ayrı sonuç döner ve hatalı kayıtlar diğerlerini geri almaz")
+    public ResponseEntity<ApiResponse<BatchResponse<UserResponseDTO>>> createUsers(@RequestBody List<UserRequestDTO> userRequestDTOs) {
+        BatchResponse<UserResponseDTO> result = userService.createUsers(userRequestDTOs);
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status)
+                .body(ApiResponse.success(result.getSucceeded() + " kayıt oluşturuldu, " + result.getFailed() + " kayıt başarısız", result));
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Kullanıcı güncelle", description = "Belirtilen ID'ye sahip kullanıcıyı günceller")
     public ResponseEntity<ApiResponse<UserResponseDTO>> updateUser(
@@ -70,8 +113,17 @@ public class UserController {
     }
     
     @DeleteMapping("/{id}")
-    @Operation(summary = "Kullanıcı sil", description = "Belirtilen ID'ye sahip kullanıcıyı siler")
-    public ResponseEntity<ApiResponse<Object>> deleteUser(@PathVariable Long id) {
+    @Operation(summary = "Kullanıcı sil", description = "Belirtilen ID'ye sahip kullanıcıyı ve postlarını siler. "
+            + "async=true ile silme arka planda sürer ve 202 döner. Aynı kullanıcı zaten siliniyorsa istek o silmenin "
+            + "bitmesini bekler; silme sırasında yeni postlar eklenmeye devam ederse 409 döner")
+    public ResponseEntity<ApiResponse<Object>> deleteUser(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            userService.ensureUserExists(id);
+            userService.deleteUserInBackground(id);
+            return ResponseEntity.accepted().body(ApiResponse.success("Kullanıcı silme işlemi başlatıldı", null));
+        }
         userService.deleteUser(id);
         return ResponseEntity.ok(ApiResponse.success("Kullanıcı başarıyla silindi", null));
     }
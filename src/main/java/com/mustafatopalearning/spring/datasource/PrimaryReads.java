@@ -0,0 +1,33 @@
+package com.mustafatopalearning.spring.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends the reads of a block to the primary even inside a read-only transaction. Used for loads that
+ * fill long-lived caches, so a lagging replica cannot pin an old row in them until the entry expires.
+ * Must wrap the first statement of the transaction: the connection is chosen when it is first used.
+ * A no-op when no replica is configured.
+ */
+public final class PrimaryReads {
+    
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+    
+    private PrimaryReads() {
+    }
+    
+    public static <T> T call(Supplier<T> reads) {
+        if (isActive()) {
+            return reads.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+    
+    static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.mustafatopalearning.spring.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connections for read-only transactions: from the replica pool, or from the primary when the replica
+ * cannot hand one out (down, pool exhausted past its timeout) or the caller asked for PrimaryReads.
+ */
+public class ReplicaDataSource extends DelegatingDataSource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+    
+    private final DataSource primary;
+    private final AtomicBoolean replicaDown = new AtomicBoolean();
+    private final LongAdder fallbacks = new LongAdder();
+    
+    public ReplicaDataSource(DataSource replica, DataSource primary) {
+        super(replica);
+        this.primary = primary;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PrimaryReads.isActive()) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = obtainTargetDataSource().getConnection();
+            if (replicaDown.compareAndSet(true, false)) {
+                logger.info("Replika veritabanına yeniden bağlanıldı, okumalar replikaya yönlendiriliyor");
+            }
+            return connection;
+        } catch (SQLException e) {
+            fallbacks.increment();
+            // Logged once per outage rather than per request.
+            if (replicaDown.compareAndSet(false, true)) {
+                logger.warn("Replika veritabanına bağlanılamadı, okumalar birincil veritabanına yönlendiriliyor: {}",
+                        e.getMessage());
+            }
+            return primary.getConnection();
+        }
+    }
+    
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+}
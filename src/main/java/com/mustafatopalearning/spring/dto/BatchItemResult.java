@@ -0,0 +1,23 @@
+package com.mustafatopalearning.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult<T> {
+    private int index;
+    private boolean success;
+    private T data;
+    private String error;
+    
+    public static <T> BatchItemResult<T> success(int index, T data) {
+        return new BatchItemResult<>(index, true, data, null);
+    }
+    
+    public static <T> BatchItemResult<T> failure(int index, String error) {
+        return new BatchItemResult<>(index, false, null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.mustafatopalearning.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse<T> {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult<T>> results;
+    
+    public static <T> BatchResponse<T> of(List<BatchItemResult<T>> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResult::isSuccess).count();
+        return new BatchResponse<>(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
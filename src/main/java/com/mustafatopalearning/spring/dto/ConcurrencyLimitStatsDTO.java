@@ -0,0 +1,16 @@
+package com.mustafatopalearning.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConcurrencyLimitStatsDTO {
+    private String name;
+    private int limit;
+    private int inFlight;
+    private long rejected;
+    private double baselineLatencyMillis;
+}
@@ -13,10 +13,13 @@ public class PageableResponse<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
+    private boolean hasNext;
+    // Set for searches whose prefix matched too many terms to expand them all; totals are then a lower bound.
+    private boolean approximate;
     
     public static <T> PageableResponse<T> of(List<T> content, int page, int size, long totalElements) {
         PageableResponse<T> response = new PageableResponse<>();
@@ -27,7 +30,19 @@ public class PageableResponse<T> {
         response.setTotalPages((int) Math.ceil((double) totalElements / size));
         response.setFirst(page == 0);
         response.setLast(page >= response.getTotalPages() - 1);
+        response.setHasNext(!response.isLast());
+        return response;
+    }
+    
+    // Slice mode: totals are left null because no COUNT query was run.
+    public static <T> PageableResponse<T> ofSlice(List<T> content, int page, int size, boolean hasNext) {
+        PageableResponse<T> response = new PageableResponse<>();
+        response.setContent(content);
+        response.setPage(page);
+        response.setSize(size);
+        response.setFirst(page == 0);
+        response.setLast(!hasNext);
+        response.setHasNext(hasNext);
         return response;
     }
 }
-
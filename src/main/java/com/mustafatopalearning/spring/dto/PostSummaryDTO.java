@@ -0,0 +1,20 @@
+package com.mustafatopalearning.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummaryDTO {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private Long userId;
+    private String userName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.mustafatopalearning.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostWriteStatusDTO {
+    private Long postId;
+    private Status status;
+    
+    public enum Status {
+        PENDING,
+        WRITTEN,
+        FAILED
+    }
+}
@@ -1,5 +1,6 @@
 package com.mustafatopalearning.spring.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,5 +16,8 @@ public class UserResponseDTO {
     private String name;
     private String surname;
     private LocalDateTime createdAt;
+    
+    @JsonIgnore
+    private Long version;
 }
 
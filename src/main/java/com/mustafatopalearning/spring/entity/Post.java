@@ -1,29 +1,46 @@
 package com.mustafatopalearning.spring.entity;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
+// Author pages and feeds filter by user_id and sort by created_at (id breaks ties for the keyset cursor);
+// the global feed and the default page sort read created_at alone.
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_posts_created", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Post {
     
+    public static final int EXCERPT_LENGTH = 200;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 200)
     private String title;
     
+    // Loaded on first access (bytecode enhancement); list views read the excerpt instead.
+    @Basic(fetch = FetchType.LAZY)
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
     
+    // Derived from content in setContent only, so it has no setter of its own; rows written before the column
+    // existed are filled in by PostExcerptBackfill.
+    @Setter(AccessLevel.NONE)
+    @Column(length = EXCERPT_LENGTH + 1)
+    private String excerpt;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -34,15 +51,35 @@ public class Post {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Truncated to the column's microsecond precision so the in-memory value matches what is read back
+    // (updatedAt feeds the post ETag).
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
     }
     
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+        this.excerpt = excerptOf(content);
+    }
+    
+    // Whitespace is collapsed and a long text is cut at the last word boundary, ending with an ellipsis.
+    public static String excerptOf(String content) {
+        if (content == null) {
+            return null;
+        }
+        String text = content.strip().replaceAll("\\s+", " ");
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, end > EXCERPT_LENGTH / 2 ? end : EXCERPT_LENGTH).stripTrailing() + "…";
     }
 }
 
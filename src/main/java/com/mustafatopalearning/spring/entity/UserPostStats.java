@@ -0,0 +1,29 @@
+package com.mustafatopalearning.spring.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Materialized post count of a user, changed in the same transaction as the posts themselves.
+// There is deliberately no foreign key to users: UserPostStatsReconciler adds missing rows,
+// repairs drifted counts and removes rows left behind by deleted users.
+@Entity
+@Table(name = "user_post_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPostStats {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package com.mustafatopalearning.spring.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PostDeletedEvent {
+    private Long postId;
+    private Long userId;
+}
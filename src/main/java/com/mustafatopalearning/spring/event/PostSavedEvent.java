@@ -0,0 +1,18 @@
+package com.mustafatopalearning.spring.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class PostSavedEvent {
+    private Long postId;
+    private Long userId;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private boolean created;
+}
@@ -0,0 +1,10 @@
+package com.mustafatopalearning.spring.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserDeletedEvent {
+    private Long userId;
+}
@@ -0,0 +1,13 @@
+package com.mustafatopalearning.spring.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserSavedEvent {
+    private Long userId;
+    private String name;
+    private String surname;
+    private boolean created;
+}
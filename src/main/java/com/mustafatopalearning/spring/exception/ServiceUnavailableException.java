@@ -0,0 +1,7 @@
+package com.mustafatopalearning.spring.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
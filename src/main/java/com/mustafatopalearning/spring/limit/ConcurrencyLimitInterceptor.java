@@ -0,0 +1,135 @@
+package com.mustafatopalearning.spring.limit;
+
+import com.mustafatopalearning.spring.dto.ConcurrencyLimitStatsDTO;
+import com.mustafatopalearning.spring.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Load shedding for the post and user APIs. With virtual threads Tomcat accepts every request and the
+ * excess waits for a pooled JDBC connection until clients time out; here each route group has an adaptive
+ * limit (GradientLimit) on requests in progress, and a request over it is answered 503 with Retry-After
+ * right away (ServiceUnavailableException). Searches get a limit of their own: each one merges and ranks
+ * the postings of every matching term in memory under the index read lock, so its CPU cost grows with the
+ * number of hits, and an unpaged one then loads up to a thousand posts. A burst of them cannot crowd out
+ * single-row lookups.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+    
+    static final String SEARCH = "search";
+    static final String LOOKUP = "lookup";
+    static final String DEFAULT = "default";
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private static final Set<String> LOOKUP_PATTERNS = Set.of("/api/posts/{id}", "/api/users/{id}", "/api/users/{id}/stats");
+    private static final int MIN_LIMIT = 1;
+    
+    private final boolean enabled;
+    private final ConcurrencyLimiter search;
+    private final ConcurrencyLimiter lookup;
+    private final ConcurrencyLimiter other;
+    
+    @Autowired
+    public ConcurrencyLimitInterceptor(@Value("${app.limits.enabled:true}") boolean enabled,
+                                       @Value("${app.limits.search.initial-limit:8}") int searchInitial,
+                                       @Value("${app.limits.search.max-limit:32}") int searchMax,
+                                       @Value("${app.limits.lookup.initial-limit:100}") int lookupInitial,
+                                       @Value("${app.limits.lookup.max-limit:400}") int lookupMax,
+                                       @Value("${app.limits.default.initial-limit:40}") int defaultInitial,
+                                       @Value("${app.limits.default.max-limit:200}") int defaultMax,
+                                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.search = new ConcurrencyLimiter(SEARCH, new GradientLimit(searchInitial, MIN_LIMIT, searchMax));
+        this.lookup = new ConcurrencyLimiter(LOOKUP, new GradientLimit(lookupInitial, MIN_LIMIT, lookupMax));
+        this.other = new ConcurrencyLimiter(DEFAULT, new GradientLimit(defaultInitial, MIN_LIMIT, defaultMax));
+        if (enabled) {
+            registerMetrics(meterRegistry);
+        }
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The dispatch that completes a streamed response was admitted (and released) on the first one.
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        ConcurrencyLimiter limiter = limiterFor(request);
+        if (!limiter.tryAcquire()) {
+            throw new ServiceUnavailableException("Sunucu yoğun, lütfen biraz sonra tekrar deneyin");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streaming a large export says nothing about backend saturation, so it gives its slot back unmeasured.
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.limiter.releaseWithoutSample();
+        }
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.limiter.release(System.nanoTime() - permit.startNanos);
+        }
+    }
+    
+    public List<ConcurrencyLimitStatsDTO> stats() {
+        return List.of(search.stats(), lookup.stats(), other.stats());
+    }
+    
+    ConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : request.getRequestURI();
+        if (uri.startsWith("/api/posts/search")) {
+            return search;
+        }
+        if ("GET".equals(request.getMethod()) && LOOKUP_PATTERNS.contains(uri)) {
+            return lookup;
+        }
+        return other;
+    }
+    
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        for (ConcurrencyLimiter limiter : List.of(search, lookup, other)) {
+            Gauge.builder("http.server.limit", limiter, ConcurrencyLimiter::getLimit)
+                    .description("Aynı anda işlenebilecek istek sınırı")
+                    .tag("group", limiter.getName())
+                    .register(meterRegistry);
+            Gauge.builder("http.server.limit.in_flight", limiter, ConcurrencyLimiter::getInFlight)
+                    .description("İşlenmekte olan istek sayısı")
+                    .tag("group", limiter.getName())
+                    .register(meterRegistry);
+            FunctionCounter.builder("http.server.limit.rejected", limiter, ConcurrencyLimiter::getRejected)
+                    .description("Sınır dolu olduğu için 503 ile reddedilen istek sayısı")
+                    .tag("group", limiter.getName())
+                    .register(meterRegistry);
+        }
+    }
+    
+    private static final class Permit {
+        private final ConcurrencyLimiter limiter;
+        private final long startNanos;
+        
+        private Permit(ConcurrencyLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+    }
+}
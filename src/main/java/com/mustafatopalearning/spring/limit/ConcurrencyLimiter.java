@@ -0,0 +1,67 @@
+package com.mustafatopalearning.spring.limit;
+
+import com.mustafatopalearning.spring.dto.ConcurrencyLimitStatsDTO;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits at most {@link GradientLimit#getLimit()} requests of one route group at a time. Requests over
+ * the limit are not queued: the caller rejects them at once.
+ */
+class ConcurrencyLimiter {
+    
+    private final String name;
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    
+    ConcurrencyLimiter(String name, GradientLimit limit) {
+        this.name = name;
+        this.limit = limit;
+    }
+    
+    String getName() {
+        return name;
+    }
+    
+    int getLimit() {
+        return limit.getLimit();
+    }
+    
+    int getInFlight() {
+        return inFlight.get();
+    }
+    
+    long getRejected() {
+        return rejected.sum();
+    }
+    
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    void release(long rttNanos) {
+        limit.onSample(rttNanos, inFlight.getAndDecrement());
+    }
+    
+    // For requests whose duration does not reflect backend load (streamed responses).
+    void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+    
+    ConcurrencyLimitStatsDTO stats() {
+        return new ConcurrencyLimitStatsDTO(name, limit.getLimit(), inFlight.get(), rejected.sum(),
+                TimeUnit.NANOSECONDS.toMicros((long) limit.getLongRttNanos()) / 1000.0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.mustafatopalearning.spring.limit;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows latency, after the gradient algorithm of Netflix's concurrency-limits.
+ * A short average of request latency is compared with a long one that stands for the unloaded latency:
+ * while the two agree the limit grows by a small queue allowance, once requests get slower than
+ * {@code TOLERANCE} times the long average the limit shrinks in proportion (at most halving per sample).
+ * The long average decays when latency has stayed high for a while, so a permanently slower backend
+ * becomes the new baseline instead of pinning the limit at its minimum.
+ * The averages are guarded by a ReentrantLock rather than synchronized, so virtual threads finishing a
+ * request do not pin their carrier. Every sample is applied: the critical section is a few arithmetic
+ * operations, and skipping samples under contention would feed the gradient only the ones that happened
+ * not to collide.
+ */
+class GradientLimit {
+    
+    static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double SHORT_WINDOW_ALPHA = 0.1;
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+    private static final int QUEUE_SIZE = 4;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    
+    GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+    
+    int getLimit() {
+        return limit;
+    }
+    
+    double getLongRttNanos() {
+        lock.lock();
+        try {
+            return longRtt;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    void onSample(long rttNanos, int inFlight) {
+        lock.lock();
+        try {
+            update(rttNanos, inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void update(long rttNanos, int inFlight) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_WINDOW_ALPHA;
+        longRtt += (rttNanos - longRtt) * LONG_WINDOW_ALPHA;
+        if (longRtt / shortRtt > 2) {
+            // Latency fell well below the baseline (e.g. after a slow period): catch up faster.
+            longRtt *= 0.95;
+        }
+        if (inFlight < estimatedLimit / 2) {
+            // Far below the limit the samples say nothing about how much more the backend could take.
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        // The queue allowance only while latency is within tolerance, or sustained slowness could not
+        // push the limit below 2 * QUEUE_SIZE.
+        double newLimit = estimatedLimit * gradient + (gradient >= 1.0 ? QUEUE_SIZE : 0);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
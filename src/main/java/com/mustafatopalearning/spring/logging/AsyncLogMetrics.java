@@ -0,0 +1,57 @@
+package com.mustafatopalearning.spring.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Queue depth and discarded event count of the async log appenders, tagged by appender name.
+ * Nothing is registered when the active profile logs synchronously.
+ */
+@Component
+public class AsyncLogMetrics implements MeterBinder {
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Map<AsyncAppenderBase<?>, Boolean> seen = new IdentityHashMap<>();
+        for (Logger logger : context.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof AsyncAppenderBase<?> appender && seen.put(appender, Boolean.TRUE) == null) {
+                    bind(registry, appender);
+                }
+            }
+        }
+    }
+    
+    private static void bind(MeterRegistry registry, AsyncAppenderBase<?> appender) {
+        Gauge.builder("logging.async.queue.size", appender, AsyncAppenderBase::getNumberOfElementsInQueue)
+                .description("Asenkron log kuyruğunda bekleyen olay sayısı")
+                .tag("appender", appender.getName())
+                .register(registry);
+        Gauge.builder("logging.async.queue.remaining", appender, AsyncAppenderBase::getRemainingCapacity)
+                .description("Asenkron log kuyruğunda kalan kapasite")
+                .tag("appender", appender.getName())
+                .register(registry);
+        if (appender instanceof DroppingAsyncAppender dropping) {
+            FunctionCounter.builder("logging.async.discarded", dropping, DroppingAsyncAppender::getDiscardedCount)
+                    .description("Kuyruk dolduğu için atılan log olayı sayısı")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mustafatopalearning.spring.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AsyncAppender that counts the events it discards. Once the queue is filled past the discarding
+ * threshold, TRACE/DEBUG/INFO events are dropped; WARN and ERROR still use the remaining capacity.
+ * With neverBlock=true a completely full queue drops even those instead of stalling the request thread.
+ * Both kinds of drop are counted.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+    
+    private final LongAdder discarded = new LongAdder();
+    
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Only consulted when the queue is below the threshold, so every true here is a dropped event.
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+    
+    // The offer itself happens in a private method right after this hook and its result is not exposed,
+    // so a queue seen full here counts as a drop. The worker may free a slot in between, which makes the
+    // count at most one high per race; neverBlock=false waits for space instead and never drops here.
+    @Override
+    protected void preprocess(ILoggingEvent event) {
+        super.preprocess(event);
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            discarded.increment();
+        }
+    }
+    
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+}
@@ -0,0 +1,43 @@
+package com.mustafatopalearning.spring.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Drops Hibernate SQL and parameter binding events unless the current thread opened the gate.
+ * Installed only by the prod logging profile; SqlLogSamplingInterceptor opens it for sampled requests
+ * and for the request following a slow one. The decision is made before the event is created, so a
+ * closed gate costs one ThreadLocal read per statement.
+ */
+public class SqlLogGate extends TurboFilter {
+    
+    static final String SQL_LOGGER = "org.hibernate.SQL";
+    static final String BIND_LOGGER_PREFIX = "org.hibernate.orm.jdbc.bind";
+    
+    private static final ThreadLocal<Boolean> OPEN = new ThreadLocal<>();
+    
+    public static void open() {
+        OPEN.set(Boolean.TRUE);
+    }
+    
+    public static void close() {
+        OPEN.remove();
+    }
+    
+    public static boolean isOpen() {
+        return OPEN.get() != null;
+    }
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // org.hibernate.SQL_SLOW shares the prefix but must always pass, hence the exact match.
+        String name = logger.getName();
+        if (name.equals(SQL_LOGGER) || name.startsWith(BIND_LOGGER_PREFIX)) {
+            return isOpen() ? FilterReply.NEUTRAL : FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mustafatopalearning.spring.logging;
+
+import com.mustafatopalearning.spring.metrics.RequestDbStats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides per request whether SQL and bound parameters are logged (see SqlLogGate): a random sample
+ * of requests, plus the next request on a route whose previous request was slow. Slow requests are
+ * reported with their duration and SQL statement count whatever the profile.
+ */
+@Component
+public class SqlLogSamplingInterceptor implements AsyncHandlerInterceptor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlLogSamplingInterceptor.class);
+    private static final String START_ATTRIBUTE = SqlLogSamplingInterceptor.class.getName() + ".start";
+    
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    // Routes (method + URI pattern) whose next request logs its SQL; bounded by the number of endpoints.
+    private final Set<String> armedRoutes = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    public SqlLogSamplingInterceptor(@Value("${app.logging.sql.sample-rate:0}") double sampleRate,
+                                     @Value("${app.logging.slow-request-threshold:1s}") Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        if (armedRoutes.remove(route(request)) || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            SqlLogGate.open();
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The body is written on another thread; the request thread goes back to the pool without the gate.
+        SqlLogGate.close();
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlLogGate.close();
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        if (elapsed < slowThresholdNanos) {
+            return;
+        }
+        String route = route(request);
+        armedRoutes.add(route);
+        RequestDbStats stats = RequestDbStats.current();
+        logger.warn("Yavaş istek: {} -> {} ({} ms, {} SQL ifadesi, DB {} ms); bu endpoint'in sonraki isteği SQL parametreleriyle loglanacak",
+                route, response.getStatus(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                stats != null ? stats.getStatements() : "?",
+                stats != null ? TimeUnit.NANOSECONDS.toMillis(stats.getNanos()) : "?");
+    }
+    
+    boolean isArmed(String route) {
+        return armedRoutes.contains(route);
+    }
+    
+    static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
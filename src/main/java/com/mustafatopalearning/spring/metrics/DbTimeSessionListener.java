@@ -0,0 +1,33 @@
+package com.mustafatopalearning.spring.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered through hibernate.session.events.auto, so Hibernate creates one per session.
+ * A JDBC batch is one round trip and is counted as a single statement.
+ */
+public class DbTimeSessionListener implements SessionEventListener {
+    
+    private long statementStart;
+    private long batchStart;
+    
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestDbStats.record(System.nanoTime() - statementStart);
+    }
+    
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestDbStats.record(System.nanoTime() - batchStart);
+    }
+}
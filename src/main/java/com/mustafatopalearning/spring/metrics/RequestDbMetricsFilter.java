@@ -0,0 +1,119 @@
+package com.mustafatopalearning.spring.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records how many SQL statements each request ran and how long it spent in them, tagged like
+ * http.server.requests (method, uri, status, outcome) so the two can be read side by side. The method and uri
+ * values follow Spring's DefaultServerRequestObservationConvention (root, REDIRECTION, NOT_FOUND, UNKNOWN), and
+ * the meters are looked up once per tag combination and reused.
+ */
+@Component
+public class RequestDbMetricsFilter extends OncePerRequestFilter {
+    
+    private static final Set<String> KNOWN_METHODS = Arrays.stream(HttpMethod.values())
+            .map(HttpMethod::name)
+            .collect(Collectors.toUnmodifiableSet());
+    
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<MeterKey, RequestMeters> meters = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public RequestDbMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDbStats stats = RequestDbStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDbStats.stop();
+            record(request, response, stats);
+        }
+    }
+    
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestDbStats stats) {
+        int status = response.getStatus();
+        MeterKey key = new MeterKey(method(request), uri(request, status), status);
+        RequestMeters requestMeters = meters.computeIfAbsent(key, this::register);
+        requestMeters.statements.record(stats.getStatements());
+        requestMeters.time.record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+    
+    private RequestMeters register(MeterKey key) {
+        Tags tags = Tags.of(
+                "method", key.method,
+                "uri", key.uri,
+                "status", String.valueOf(key.status),
+                "outcome", Outcome.forStatus(key.status).name());
+        DistributionSummary statements = DistributionSummary.builder("http.server.db.statements")
+                .description("İstek başına çalıştırılan SQL ifadesi sayısı")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Timer time = Timer.builder("http.server.db.time")
+                .description("İstek başına SQL ifadelerinde geçen süre")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new RequestMeters(statements, time);
+    }
+    
+    private static String method(HttpServletRequest request) {
+        String method = request.getMethod();
+        return KNOWN_METHODS.contains(method) ? method : "UNKNOWN";
+    }
+    
+    private static String uri(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString().isEmpty() ? "root" : pattern.toString();
+        }
+        HttpStatus httpStatus = HttpStatus.resolve(status);
+        if (httpStatus != null && httpStatus.is3xxRedirection()) {
+            return "REDIRECTION";
+        }
+        return httpStatus == HttpStatus.NOT_FOUND ? "NOT_FOUND" : "UNKNOWN";
+    }
+    
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class MeterKey {
+        private final String method;
+        private final String uri;
+        private final int status;
+    }
+    
+    @AllArgsConstructor
+    private static final class RequestMeters {
+        private final DistributionSummary statements;
+        private final Timer time;
+    }
+}
@@ -0,0 +1,48 @@
+package com.mustafatopalearning.spring.metrics;
+
+/**
+ * SQL statement count and database time of the request running on the current thread.
+ * Statements run outside a tracked request (startup, index rebuild, streamed bodies written after the
+ * request thread returned) are not counted.
+ */
+public final class RequestDbStats {
+    
+    private static final ThreadLocal<RequestDbStats> CURRENT = new ThreadLocal<>();
+    
+    private long statements;
+    private long nanos;
+    
+    private RequestDbStats() {
+    }
+    
+    // Null outside a tracked request.
+    public static RequestDbStats current() {
+        return CURRENT.get();
+    }
+    
+    static RequestDbStats start() {
+        RequestDbStats stats = new RequestDbStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    static void stop() {
+        CURRENT.remove();
+    }
+    
+    static void record(long elapsedNanos) {
+        RequestDbStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+    
+    public long getStatements() {
+        return statements;
+    }
+    
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mustafatopalearning.spring.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AuthorName {
+    private Long userId;
+    private String displayName;
+}
@@ -1,27 +1,166 @@
 package com.mustafatopalearning.spring.repository;
 
+import com.mustafatopalearning.spring.cache.SecondLevelCache;
 import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.search.IndexedPost;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Post reads leave the author as an uninitialized proxy: PostService.convertToDTO only needs
+ * posts.user_id and resolves the display name from AuthorNameCache, so no query joins users.
+ * Post.content is lazy, so reads that build full PostResponseDTOs fetch it through the "content"
+ * entity graph in the same statement; summary reads project the excerpt and never touch it.
+ */
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findByUserId(Long userId);
-    Page<Post> findByUserId(Long userId, Pageable pageable);
     
+    // Derived "ByUserId" queries join users to compare u.id; filtering on p.user.id reads posts.user_id
+    // directly, so these stay on idx_posts_user_created.
+    // Cached in the second-level query cache; any write to posts (Hibernate or write-behind) invalidates it.
+    @EntityGraph(attributePaths = "content")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCache.POSTS_BY_USER)
+    })
+    @Query("SELECT p FROM Post p WHERE p.user.id = :userId")
+    List<Post> findByUserId(@Param("userId") Long userId);
+    
+    @EntityGraph(attributePaths = "content")
+    @Query(value = "SELECT p FROM Post p WHERE p.user.id = :userId",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId")
+    Page<Post> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Override
+    @EntityGraph(attributePaths = "content")
+    List<Post> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = "content")
+    Optional<Post> findById(Long id);
+    
+    // Slice reads fetch one extra row to compute hasNext and never issue a COUNT query.
+    @EntityGraph(attributePaths = "content")
+    @Query("SELECT p FROM Post p")
+    Slice<Post> findPostSlice(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "content")
+    @Query("SELECT p FROM Post p WHERE p.user.id = :userId")
+    Slice<Post> findSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT " + PostSummary.SELECT + " FROM Post p")
+    Slice<PostSummary> findSummarySlice(Pageable pageable);
+    
+    @Query("SELECT " + PostSummary.SELECT + " FROM Post p WHERE p.user.id = :userId")
+    Slice<PostSummary> findSummarySliceByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT " + PostSummary.SELECT + " FROM Post p WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT " + PostSummary.SELECT + " FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%")
+    Slice<PostSummary> searchSummarySlice(@Param("keyword") String keyword, Pageable pageable);
+    
+    @Query(value = "SELECT " + PostSummary.SELECT + " FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%")
+    Page<PostSummary> searchSummaries(@Param("keyword") String keyword, Pageable pageable);
+    
+    @Query("SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT p.user.id FROM Post p WHERE p.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+    
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.mustafatopalearning.spring.repository.PostVersion(p.id, p.updatedAt, p.user.id) " +
+           "FROM Post p WHERE p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = "content")
     @Query("SELECT p FROM Post p WHERE p.user.id = :userId ORDER BY p.createdAt DESC")
     List<Post> findAllByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
     
+    @EntityGraph(attributePaths = "content")
     @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%")
-    List<Post> searchPosts(@Param("keyword") String keyword);
+    List<Post> searchPosts(@Param("keyword") String keyword, Pageable pageable);
     
+    @EntityGraph(attributePaths = "content")
     @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%")
     Page<Post> searchPostsWithPagination(@Param("keyword") String keyword, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "content")
+    @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%")
+    Slice<Post> searchPostsSlice(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Streaming reads keep a cursor open instead of materializing the result; callers detach rows as they go.
+    @EntityGraph(attributePaths = "content")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p")
+    Stream<Post> streamAll();
+    
+    @EntityGraph(attributePaths = "content")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p WHERE p.user.id = :userId")
+    Stream<Post> streamByUserId(@Param("userId") Long userId);
+    
+    @EntityGraph(attributePaths = "content")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%")
+    Stream<Post> streamSearch(@Param("keyword") String keyword);
+    
+    @EntityGraph(attributePaths = "content")
+    List<Post> findByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT new com.mustafatopalearning.spring.search.IndexedPost(p.id, p.user.id, p.title, p.content, " +
+           "p.createdAt, p.updatedAt) " +
+           "FROM Post p WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<IndexedPost> findIndexBatch(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "content")
+    @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findFeed(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "content")
+    @Query("SELECT p FROM Post p WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "content")
+    @Query("SELECT p FROM Post p WHERE p.user.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findFeedByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "content")
+    @Query("SELECT p FROM Post p WHERE p.user.id = :userId AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findFeedByUserIdAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable pageable);
 }
 
@@ -0,0 +1,22 @@
+package com.mustafatopalearning.spring.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// List-view projection of a post: the excerpt column stands in for content, which is never read.
+@Data
+@AllArgsConstructor
+public class PostSummary {
+    
+    static final String SELECT = "new com.mustafatopalearning.spring.repository.PostSummary("
+            + "p.id, p.title, p.excerpt, p.user.id, p.createdAt, p.updatedAt)";
+    
+    private Long id;
+    private String title;
+    private String excerpt;
+    private Long userId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
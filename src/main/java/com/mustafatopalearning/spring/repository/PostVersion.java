@@ -0,0 +1,14 @@
+package com.mustafatopalearning.spring.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class PostVersion {
+    private Long id;
+    private LocalDateTime updatedAt;
+    private Long userId;
+}
@@ -0,0 +1,43 @@
+package com.mustafatopalearning.spring.repository;
+
+import com.mustafatopalearning.spring.entity.UserPostStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Counters are changed with a single relative UPDATE, so concurrent writers for the same user queue
+ * on the row lock instead of overwriting each other's read-modify-write.
+ */
+@Repository
+public interface UserPostStatsRepository extends JpaRepository<UserPostStats, Long> {
+    
+    @Query("SELECT s.postCount FROM UserPostStats s WHERE s.userId = :userId")
+    Optional<Long> findPostCountByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE UserPostStats s SET s.postCount = s.postCount + :delta, s.updatedAt = LOCAL DATETIME " +
+           "WHERE s.userId = :userId")
+    int addToPostCount(@Param("userId") Long userId, @Param("delta") long delta);
+    
+    @Modifying
+    @Query("INSERT INTO UserPostStats (userId, postCount, updatedAt) " +
+           "SELECT u.id, (SELECT COUNT(p) FROM Post p WHERE p.user.id = u.id), LOCAL DATETIME FROM User u " +
+           "WHERE u.id IN :userIds AND NOT EXISTS (SELECT 1 FROM UserPostStats s WHERE s.userId = u.id)")
+    int insertMissing(@Param("userIds") Collection<Long> userIds);
+    
+    @Modifying
+    @Query("UPDATE UserPostStats s " +
+           "SET s.postCount = (SELECT COUNT(p) FROM Post p WHERE p.user.id = s.userId), s.updatedAt = LOCAL DATETIME " +
+           "WHERE s.userId IN :userIds AND s.postCount <> (SELECT COUNT(p) FROM Post p WHERE p.user.id = s.userId)")
+    int repairPostCounts(@Param("userIds") Collection<Long> userIds);
+    
+    @Modifying
+    @Query("DELETE FROM UserPostStats s WHERE NOT EXISTS (SELECT 1 FROM User u WHERE u.id = s.userId)")
+    int deleteOrphans();
+}
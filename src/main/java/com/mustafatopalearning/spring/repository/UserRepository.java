@@ -1,14 +1,51 @@
 package com.mustafatopalearning.spring.repository;
 
 import com.mustafatopalearning.spring.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    // Rows written before the version column existed read as version 0; an empty result means no such user.
+    @Query("SELECT COALESCE(u.version, 0) FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT CONCAT(u.name, ' ', u.surname) FROM User u WHERE u.id = :id")
+    Optional<String> findDisplayNameById(@Param("id") Long id);
+    
+    @Query("SELECT new com.mustafatopalearning.spring.repository.AuthorName(u.id, CONCAT(u.name, ' ', u.surname)) " +
+           "FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<AuthorName> findAuthorNameBatch(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<Long> findIdBatch(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT u FROM User u")
+    Slice<User> findUserSlice(Pageable pageable);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u")
+    Stream<User> streamAll();
 }
 
@@ -0,0 +1,17 @@
+package com.mustafatopalearning.spring.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class IndexedPost {
+    private Long id;
+    private Long userId;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
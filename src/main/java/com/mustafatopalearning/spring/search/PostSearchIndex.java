@@ -0,0 +1,350 @@
+package com.mustafatopalearning.spring.search;
+
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.exception.BadRequestException;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory inverted index over post titles and contents, ranked with BM25.
+ * A post matches when every query term is a prefix of one of its words; unlike the old {@code LIKE '%phrase%'}
+ * there is no infix matching and the terms need not be adjacent. Hits are ranked by relevance or, for column
+ * sorts, by the title and timestamps kept per document, so no query runs however many posts match.
+ * Kept in sync through post events after each commit and rebuilt from the table at startup.
+ * Until the first rebuild finishes {@link #isReady()} is false and callers fall back to the database.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final PostRepository postRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private final Map<Long, Long> documentAuthors = new HashMap<>();
+    private final Map<Long, SortKeys> documentSortKeys = new HashMap<>();
+    private final Map<Long, Set<Long>> postsByAuthor = new HashMap<>();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private long totalLength;
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    @Autowired
+    public PostSearchIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        logger.info("Arama indeksi oluşturuluyor");
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            documentLengths.clear();
+            documentAuthors.clear();
+            documentSortKeys.clear();
+            postsByAuthor.clear();
+            changedDuringRebuild.clear();
+            totalLength = 0;
+            rebuilding = true;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Batches are read outside the lock so writes keep flowing; posts changed meanwhile already hold their latest state.
+        long lastId = 0;
+        List<IndexedPost> batch;
+        do {
+            batch = postRepository.findIndexBatch(lastId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (IndexedPost post : batch) {
+                    if (!changedDuringRebuild.contains(post.getId())) {
+                        add(post);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Arama indeksi hazır: {} post", size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostSaved(PostSavedEvent event) {
+        index(new IndexedPost(event.getPostId(), event.getUserId(), event.getTitle(), event.getContent(),
+                event.getCreatedAt(), event.getUpdatedAt()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        remove(event.getPostId());
+    }
+
+    // A user's posts are deleted in chunks that each publish PostDeletedEvent before this event arrives;
+    // anything still attributed to the user here is removed as well rather than left searchable.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> postIds = postsByAuthor.get(event.getUserId());
+            if (postIds == null) {
+                return;
+            }
+            for (Long postId : List.copyOf(postIds)) {
+                if (rebuilding) {
+                    changedDuringRebuild.add(postId);
+                }
+                removeDocument(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(IndexedPost post) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(post.getId());
+            }
+            add(post);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(id);
+            }
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        return search(query, null, offset, limit);
+    }
+
+    // Orders the hits by columns instead of relevance; a null sort means relevance.
+    public SearchResult search(String query, Sort sort, int offset, int limit) {
+        Comparator<Long> columnOrder = sort == null ? null : columnOrder(sort);
+        List<String> queryTerms = TextAnalyzer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            double avgLength = documents.isEmpty() ? 0 : (double) totalLength / documents.size();
+            boolean approximate = false;
+            for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+                Map<Long, Double> termScores = new HashMap<>();
+                approximate |= score(queryTerm, avgLength, termScores);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            // Best hits first, newest post first on ties.
+            Comparator<Long> order = columnOrder != null ? columnOrder
+                    : Comparator.<Long, Double>comparing(scores::get).thenComparing(Comparator.naturalOrder()).reversed();
+            return new SearchResult(topK(scores.keySet(), order, offset, limit), scores.size(), approximate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every query term also matches indexed terms it is a prefix of, so partial words still find the full word.
+    // A short prefix can match thousands of terms, so only the exact term and the most frequent expansions are
+    // scored; returns true when some were left out and the hit count is therefore a lower bound.
+    private boolean score(String queryTerm, double avgLength, Map<Long, Double> scores) {
+        Comparator<Map.Entry<String, Map<Long, Integer>>> frequency = Comparator
+                .<Map.Entry<String, Map<Long, Integer>>, Boolean>comparing(term -> term.getKey().equals(queryTerm))
+                .thenComparing(term -> term.getValue().size())
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<String, Map<Long, Integer>>> expansions = new PriorityQueue<>(frequency);
+        boolean truncated = false;
+        for (Map.Entry<String, Map<Long, Integer>> term
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            expansions.offer(term);
+            if (expansions.size() > MAX_PREFIX_EXPANSIONS) {
+                expansions.poll();
+                truncated = true;
+            }
+        }
+
+        for (Map.Entry<String, Map<Long, Integer>> term : expansions) {
+            Map<Long, Integer> docs = term.getValue();
+            double idf = Math.log(1 + (documents.size() - docs.size() + 0.5) / (docs.size() + 0.5));
+            for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                int tf = posting.getValue();
+                int length = documentLengths.get(posting.getKey());
+                double norm = tf + K1 * (1 - B + B * length / avgLength);
+                scores.merge(posting.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+            }
+        }
+        return truncated;
+    }
+
+    // Ties fall back to the id so neighbouring pages agree on the order of equal values, as the database sort did.
+    // Nulls sort low, like H2: first when ascending, last when descending.
+    private Comparator<Long> columnOrder(Sort sort) {
+        Comparator<Long> order = null;
+        for (Sort.Order column : sort) {
+            Comparator<Long> byColumn = switch (column.getProperty()) {
+                case "id" -> Comparator.naturalOrder();
+                case "title" -> byKey(SortKeys::getTitle);
+                case "createdAt" -> byKey(SortKeys::getCreatedAt);
+                case "updatedAt" -> byKey(SortKeys::getUpdatedAt);
+                default -> throw new BadRequestException("Arama sonuçları bu alana göre sıralanamaz: " + column.getProperty());
+            };
+            byColumn = column.isDescending() ? byColumn.reversed() : byColumn;
+            order = order == null ? byColumn : order.thenComparing(byColumn);
+        }
+        return order == null ? Comparator.naturalOrder() : order.thenComparing(Comparator.naturalOrder());
+    }
+
+    private <T extends Comparable<? super T>> Comparator<Long> byKey(Function<SortKeys, T> key) {
+        return Comparator.comparing(id -> key.apply(documentSortKeys.get(id)),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    // Keeps the offset + limit first hits in a heap ordered worst first, so memory stays bounded by the page.
+    private List<Long> topK(Collection<Long> ids, Comparator<Long> order, int offset, int limit) {
+        int k = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PriorityQueue<Long> heap = new PriorityQueue<>(Math.min(k, ids.size()) + 1, order.reversed());
+        for (Long id : ids) {
+            heap.offer(id);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll());
+        }
+        Collections.reverse(ranked);
+        return offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+    }
+
+    private void add(IndexedPost post) {
+        Long id = post.getId();
+        removeDocument(id);
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : TextAnalyzer.tokenize(post.getTitle())) {
+            termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : TextAnalyzer.tokenize(post.getContent())) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(id, entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(id, termFrequencies);
+        documentLengths.put(id, length);
+        documentAuthors.put(id, post.getUserId());
+        documentSortKeys.put(id, new SortKeys(post.getTitle(), post.getCreatedAt(), post.getUpdatedAt()));
+        postsByAuthor.computeIfAbsent(post.getUserId(), u -> new HashSet<>()).add(id);
+        totalLength += length;
+    }
+
+    private void removeDocument(Long id) {
+        Map<String, Integer> termFrequencies = documents.remove(id);
+        if (termFrequencies == null) {
+            return;
+        }
+        totalLength -= documentLengths.remove(id);
+        documentSortKeys.remove(id);
+        Long userId = documentAuthors.remove(id);
+        Set<Long> authorPosts = postsByAuthor.get(userId);
+        authorPosts.remove(id);
+        if (authorPosts.isEmpty()) {
+            postsByAuthor.remove(userId);
+        }
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            Map<Long, Integer> docs = postings.get(entry.getKey());
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postings.remove(entry.getKey());
+            }
+        }
+    }
+}
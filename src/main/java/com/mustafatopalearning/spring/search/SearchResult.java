@@ -0,0 +1,19 @@
+package com.mustafatopalearning.spring.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SearchResult {
+    private List<Long> postIds;
+    private long totalHits;
+    // True when a query prefix matched more terms than the index expands, so rare terms were left out.
+    private boolean approximate;
+
+    public SearchResult(List<Long> postIds, long totalHits) {
+        this(postIds, totalHits, false);
+    }
+}
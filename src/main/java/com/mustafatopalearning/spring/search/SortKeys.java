@@ -0,0 +1,15 @@
+package com.mustafatopalearning.spring.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// The columns search hits can be ordered by besides relevance, kept per document so no query is needed to sort.
+@Data
+@AllArgsConstructor
+class SortKeys {
+    private String title;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,70 @@
+package com.mustafatopalearning.spring.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into index terms: Turkish-aware lower-casing (I → ı, İ → i) followed by
+ * diacritic folding, so "IŞIK", "ışık" and "isik" all produce the same term.
+ */
+public final class TextAnalyzer {
+    
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    
+    private TextAnalyzer() {
+    }
+    
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        
+        String folded = fold(text.toLowerCase(TURKISH));
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(folded.substring(start));
+        }
+        return tokens;
+    }
+    
+    private static String fold(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean ascii = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case 'ı' -> sb.append('i');
+                case 'ç' -> sb.append('c');
+                case 'ğ' -> sb.append('g');
+                case 'ö' -> sb.append('o');
+                case 'ş' -> sb.append('s');
+                case 'ü' -> sb.append('u');
+                default -> {
+                    sb.append(c);
+                    ascii &= c < 0x80;
+                }
+            }
+        }
+        if (ascii) {
+            return sb.toString();
+        }
+        // Remaining accents (â, î, û, é ...) decompose into a base letter plus a combining mark
+        String decomposed = Normalizer.normalize(sb, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+}
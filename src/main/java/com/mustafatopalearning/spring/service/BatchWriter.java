@@ -0,0 +1,77 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.exception.BadRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Writes items chunk by chunk, each chunk in its own transaction so Hibernate can send the inserts as JDBC batches.
+ * When a chunk fails it is rolled back and its items are retried one by one, so only the offending items are reported.
+ */
+final class BatchWriter {
+    
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_ITEMS = 5000;
+    
+    private static final Logger logger = LoggerFactory.getLogger(BatchWriter.class);
+    
+    private BatchWriter() {
+    }
+    
+    static void checkSize(List<?> items) {
+        if (items.isEmpty() || items.size() > MAX_ITEMS) {
+            throw new BadRequestException("Toplu istek 1 ile " + MAX_ITEMS + " arasında kayıt içermelidir");
+        }
+    }
+    
+    // Runs the same bean validation as @Valid, per item, so one invalid item does not reject the whole request.
+    static String validationError(Validator validator, Object item) {
+        if (item == null) {
+            return "Kayıt boş olamaz";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+    
+    static <T> void write(TransactionTemplate transactionTemplate, List<T> items,
+                          Consumer<List<T>> writer, BiConsumer<T, String> onFailure) {
+        for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+            List<T> chunk = items.subList(from, Math.min(from + CHUNK_SIZE, items.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writer.accept(chunk));
+            } catch (RuntimeException chunkFailure) {
+                logger.warn("Toplu kayıt parçası başarısız, kayıtlar tek tek deneniyor: {}", chunkFailure.getMessage());
+                for (T item : chunk) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> writer.accept(List.of(item)));
+                    } catch (RuntimeException itemFailure) {
+                        onFailure.accept(item, describe(itemFailure));
+                    }
+                }
+            }
+        }
+    }
+    
+    private static String describe(RuntimeException failure) {
+        if (failure instanceof DataIntegrityViolationException) {
+            return "Kayıt veritabanı kısıtlarını ihlal ediyor";
+        }
+        return failure.getMessage();
+    }
+}
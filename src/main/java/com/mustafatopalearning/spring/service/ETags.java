@@ -0,0 +1,59 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Strong entity tags for the read endpoints. Each tag is built from values that can be read
+ * without loading or rendering the resource, so If-None-Match is answered before the body exists.
+ */
+public final class ETags {
+    
+    private ETags() {
+    }
+    
+    // A post response also carries the author's display name, which can change without touching updatedAt.
+    public static String post(Long id, LocalDateTime updatedAt, String userName) {
+        long micros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), updatedAt);
+        return "\"p" + id + "-" + micros + "-" + Integer.toHexString(String.valueOf(userName).hashCode()) + "\"";
+    }
+    
+    public static String post(PostResponseDTO post) {
+        return post(post.getId(), post.getUpdatedAt(), post.getUserName());
+    }
+    
+    public static String user(Long id, Long version) {
+        return "\"u" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+    
+    public static String collection(String name, long epoch, long version) {
+        return "\"" + name + "-" + Long.toHexString(epoch) + "-" + version + "\"";
+    }
+    
+    // A gzip body is a different representation, so it needs its own strong tag.
+    public static String gzip(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+    
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            // If-None-Match uses weak comparison, so a W/ prefix added by a proxy still matches.
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
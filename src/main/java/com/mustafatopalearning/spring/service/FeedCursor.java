@@ -0,0 +1,53 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the post feed. Encodes the (createdAt, id) pair of
+ * the last returned post so the next page can seek past it instead of using OFFSET.
+ */
+final class FeedCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final LocalDateTime createdAt;
+    private final Long id;
+    
+    private FeedCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    Long getId() {
+        return id;
+    }
+    
+    static String encode(Post post) {
+        String raw = post.getCreatedAt().toString() + SEPARATOR + post.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static FeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Geçersiz cursor: " + cursor);
+            }
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Geçersiz cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.entity.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills in the excerpt of posts written before the column existed; under ddl-auto=update the column is added
+ * with NULL in every existing row and list views would show those posts without text. Runs once at startup,
+ * walking the posts in id order with one short transaction per chunk. The excerpt is written with plain JDBC so
+ * updatedAt, which feeds the post ETags and the search sort, is left alone.
+ */
+@Component
+public class PostExcerptBackfill {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostExcerptBackfill.class);
+    static final int CHUNK_SIZE = 500;
+    private static final String SELECT_SQL =
+            "SELECT id, content FROM posts WHERE excerpt IS NULL AND id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String UPDATE_SQL = "UPDATE posts SET excerpt = ? WHERE id = ? AND excerpt IS NULL";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    public PostExcerptBackfill(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            logger.error("Post özetleri doldurulamadı", e);
+        }
+    }
+    
+    /**
+     * @return number of posts whose excerpt was filled in
+     */
+    public int backfill() {
+        int filled = 0;
+        long lastId = 0;
+        List<Object[]> chunk;
+        do {
+            long afterId = lastId;
+            chunk = transactionTemplate.execute(status -> {
+                List<Object[]> rows = jdbcTemplate.query(SELECT_SQL,
+                        (rs, rowNum) -> new Object[] {rs.getLong("id"), Post.excerptOf(rs.getString("content"))},
+                        afterId, CHUNK_SIZE);
+                jdbcTemplate.batchUpdate(UPDATE_SQL, rows.stream()
+                        .map(row -> new Object[] {row[1], row[0]})
+                        .toList());
+                return rows;
+            });
+            filled += chunk.size();
+            if (!chunk.isEmpty()) {
+                lastId = (Long) chunk.get(chunk.size() - 1)[0];
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        
+        if (filled > 0) {
+            logger.info("Özeti olmayan {} posta özet yazıldı", filled);
+        }
+        return filled;
+    }
+}
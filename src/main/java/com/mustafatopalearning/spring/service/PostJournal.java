@@ -0,0 +1,177 @@
+package com.mustafatopalearning.spring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only file of accepted posts (one JSON line each), forced to disk before the request is answered.
+ * Concurrent appenders share one force: whoever takes the sync lock forces everything written so far, and
+ * the others find their bytes already covered (group commit). The file is truncated whenever every entry
+ * appended to it has been written to the database, so on a clean run it stays small; after a crash the
+ * remaining entries are replayed on startup.
+ * Locks are ReentrantLocks rather than synchronized so virtual threads waiting on the disk do not pin.
+ */
+final class PostJournal implements Closeable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostJournal.class);
+    
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    // Lock order: syncLock before writeLock.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    
+    private long synced;
+    private long entries;
+    private long resolved;
+    
+    PostJournal(Path path, ObjectMapper objectMapper) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+        this.synced = channel.size();
+    }
+    
+    // Entries left by a previous run; they count as unresolved until markResolved is called for them.
+    List<QueuedPost> readAll() throws IOException {
+        List<QueuedPost> posts = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    posts.add(objectMapper.readValue(line, QueuedPost.class));
+                } catch (IOException e) {
+                    // Only the last line can be torn (crash during the write), and it was never acknowledged.
+                    logger.warn("Post günlüğünde okunamayan satır atlandı: {}", e.getMessage());
+                }
+            }
+        }
+        writeLock.lock();
+        try {
+            entries += posts.size();
+        } finally {
+            writeLock.unlock();
+        }
+        return posts;
+    }
+    
+    void append(QueuedPost post) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(post);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        long end;
+        writeLock.lock();
+        try {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            entries++;
+            end = channel.position();
+        } finally {
+            writeLock.unlock();
+        }
+        sync(end);
+    }
+    
+    // Entries written to the database, or given up on for good; they no longer need the journal.
+    void markResolved(int count) {
+        writeLock.lock();
+        try {
+            resolved += count;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    boolean truncateIfResolved() throws IOException {
+        syncLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                if (resolved != entries) {
+                    return false;
+                }
+                if (channel.size() > 0) {
+                    channel.truncate(0);
+                    channel.position(0);
+                    channel.force(false);
+                    synced = 0;
+                }
+                entries = 0;
+                resolved = 0;
+                return true;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+    
+    // Replaces the file at path with exactly these entries. The new content is forced to a temporary file
+    // that is then renamed over the old one, so a crash leaves either the old file or the new one.
+    // Any PostJournal open on the path must be closed first and reopened afterwards.
+    static void replace(Path path, Collection<QueuedPost> posts, ObjectMapper objectMapper) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (QueuedPost post : posts) {
+                byte[] json = objectMapper.writeValueAsBytes(post);
+                ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+                while (line.hasRemaining()) {
+                    channel.write(line);
+                }
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private void sync(long end) throws IOException {
+        syncLock.lock();
+        try {
+            if (synced >= end) {
+                return;
+            }
+            long written;
+            writeLock.lock();
+            try {
+                written = channel.position();
+            } finally {
+                writeLock.unlock();
+            }
+            channel.force(false);
+            synced = written;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
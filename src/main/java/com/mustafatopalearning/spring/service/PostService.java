@@ -1,41 +1,108 @@
 package com.mustafatopalearning.spring.service;
 
+import com.mustafatopalearning.spring.cache.AuthorNameCache;
+import com.mustafatopalearning.spring.cache.CollectionVersions;
+import com.mustafatopalearning.spring.cache.CountCache;
+import com.mustafatopalearning.spring.cache.ResponseDtoCache;
+import com.mustafatopalearning.spring.datasource.PrimaryReads;
+import com.mustafatopalearning.spring.dto.BatchItemResult;
+import com.mustafatopalearning.spring.dto.BatchResponse;
+import com.mustafatopalearning.spring.dto.CursorResponse;
 import com.mustafatopalearning.spring.dto.PageableResponse;
 import com.mustafatopalearning.spring.dto.PostRequestDTO;
 import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.PostSummaryDTO;
 import com.mustafatopalearning.spring.entity.Post;
 import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
 import com.mustafatopalearning.spring.exception.BadRequestException;
 import com.mustafatopalearning.spring.exception.ResourceNotFoundException;
 import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.PostSummary;
+import com.mustafatopalearning.spring.repository.PostVersion;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
 import com.mustafatopalearning.spring.repository.UserRepository;
+import com.mustafatopalearning.spring.search.PostSearchIndex;
+import com.mustafatopalearning.spring.search.SearchResult;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed(value = "service.method", histogram = true)
 public class PostService {
     
+    public static final String SORT_BY_RELEVANCE = "relevance";
+    // Search never reads past this many hits: unpaged searches return the best ones and pages cannot go deeper.
+    public static final int MAX_SEARCH_RESULTS = 1000;
+    
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
+    private static final int MAX_FEED_SIZE = 100;
+    private static final int STREAM_CHUNK_SIZE = 500;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final UserPostStatsRepository userPostStatsRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ResponseDtoCache responseDtoCache;
+    private final CountCache countCache;
+    private final CollectionVersions collectionVersions;
+    private final AuthorNameCache authorNameCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
     
     @Autowired
-    public PostService(PostRepository postRepository, UserRepository userRepository) {
+    public PostService(PostRepository postRepository, UserRepository userRepository,
+                       UserPostStatsRepository userPostStatsRepository,
+                       PostSearchIndex postSearchIndex, ApplicationEventPublisher eventPublisher,
+                       EntityManager entityManager, ResponseDtoCache responseDtoCache,
+                       CountCache countCache, CollectionVersions collectionVersions, AuthorNameCache authorNameCache,
+                       Validator validator, PlatformTransactionManager transactionManager) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.userPostStatsRepository = userPostStatsRepository;
+        this.postSearchIndex = postSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.responseDtoCache = responseDtoCache;
+        this.countCache = countCache;
+        this.collectionVersions = collectionVersions;
+        this.authorNameCache = authorNameCache;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
+    @Transactional(readOnly = true)
     public List<PostResponseDTO> getAllPosts() {
         logger.debug("Tüm postlar getiriliyor");
         return postRepository.findAll().stream()
@@ -43,7 +110,16 @@ public class PostService {
                 .collect(Collectors.toList());
     }
     
-    public PageableResponse<PostResponseDTO> getAllPosts(int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public void streamAllPosts(Consumer<PostResponseDTO> sink) {
+        logger.debug("Tüm postlar akış olarak gönderiliyor");
+        try (Stream<Post> posts = postRepository.streamAll()) {
+            posts.forEach(post -> writeAndDetach(post, sink));
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public PageableResponse<PostResponseDTO> getAllPosts(int page, int size, String sortBy, String sortDir, boolean withTotal) {
         logger.debug("Sayfalanmış postlar getiriliyor - sayfa: {}, boyut: {}, sıralama: {}", page, size, sortBy);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
@@ -51,53 +127,131 @@ public class PostService {
                 : Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Post> postPage = postRepository.findAll(pageable);
+        Slice<Post> postSlice = postRepository.findPostSlice(pageable);
         
-        List<PostResponseDTO> postDTOs = postPage.getContent().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return toPageableResponse(postSlice, page, size, withTotal, CountCache.ALL_POSTS, postRepository::count);
+    }
+    
+    @Transactional(readOnly = true)
+    public PageableResponse<PostSummaryDTO> getPostSummaries(int page, int size, String sortBy, String sortDir,
+                                                             boolean withTotal) {
+        logger.debug("Post özetleri getiriliyor - sayfa: {}, boyut: {}, sıralama: {}", page, size, sortBy);
         
-        return PageableResponse.of(postDTOs, page, size, postPage.getTotalElements());
+        Pageable pageable = PageRequest.of(page, size, sort(sortBy, sortDir));
+        Slice<PostSummary> summarySlice = postRepository.findSummarySlice(pageable);
+        
+        return toPageableResponse(summarySlice, this::convertToSummaryDTO, page, size, withTotal,
+                CountCache.ALL_POSTS, postRepository::count);
     }
     
+    @Transactional(readOnly = true)
     public PostResponseDTO getPostById(Long id) {
-        Post post = postRepository.findById(id)
+        // Cached until the next write event, so it is read from the primary rather than a possibly lagging replica.
+        return responseDtoCache.getPost(id, postId -> PrimaryReads.call(() -> {
+            Post post = postRepository.findById(postId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post bulunamadı: " + postId));
+            return convertToDTO(post);
+        }));
+    }
+    
+    // Answers If-None-Match from the cached response or a single-row projection; the post itself is not loaded.
+    @Transactional(readOnly = true)
+    public String getPostETag(Long id) {
+        PostResponseDTO cached = responseDtoCache.getPostIfPresent(id);
+        if (cached != null) {
+            return ETags.post(cached);
+        }
+        PostVersion version = postRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post bulunamadı: " + id));
-        return convertToDTO(post);
+        return ETags.post(version.getId(), version.getUpdatedAt(), authorNameCache.get(version.getUserId()));
+    }
+    
+    // Read before the page query, so a write committed in between can only make the tag older than the body.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getPostsETag() {
+        return ETags.collection("posts", collectionVersions.getEpoch(), collectionVersions.posts());
     }
     
+    @Transactional(readOnly = true)
     public List<PostResponseDTO> getPostsByUserId(Long userId) {
         logger.debug("Kullanıcının postları getiriliyor: ID {}", userId);
         
-        if (!userRepository.existsById(userId)) {
-            logger.error("Kullanıcı bulunamadı: ID {}", userId);
-            throw new ResourceNotFoundException("Kullanıcı bulunamadı: " + userId);
-        }
+        ensureUserExists(userId);
         return postRepository.findByUserId(userId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
-    public PageableResponse<PostResponseDTO> getPostsByUserId(Long userId, int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public void streamPostsByUserId(Long userId, Consumer<PostResponseDTO> sink) {
+        logger.debug("Kullanıcının postları akış olarak gönderiliyor: ID {}", userId);
+        try (Stream<Post> posts = postRepository.streamByUserId(userId)) {
+            posts.forEach(post -> writeAndDetach(post, sink));
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public PageableResponse<PostResponseDTO> getPostsByUserId(Long userId, int page, int size, String sortBy, String sortDir,
+                                                              boolean withTotal) {
         logger.debug("Kullanıcının sayfalanmış postları getiriliyor: ID {}, sayfa: {}", userId, page);
         
-        if (!userRepository.existsById(userId)) {
-            logger.error("Kullanıcı bulunamadı: ID {}", userId);
-            throw new ResourceNotFoundException("Kullanıcı bulunamadı: " + userId);
-        }
+        ensureUserExists(userId);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
                 : Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Post> postPage = postRepository.findByUserId(userId, pageable);
+        Slice<Post> postSlice = postRepository.findSliceByUserId(userId, pageable);
         
-        List<PostResponseDTO> postDTOs = postPage.getContent().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return toPageableResponse(postSlice, page, size, withTotal, CountCache.postsOfUser(userId),
+                () -> postCountOf(userId));
+    }
+    
+    @Transactional(readOnly = true)
+    public PageableResponse<PostSummaryDTO> getPostSummariesByUserId(Long userId, int page, int size, String sortBy,
+                                                                     String sortDir, boolean withTotal) {
+        logger.debug("Kullanıcının post özetleri getiriliyor: ID {}, sayfa: {}", userId, page);
+        
+        ensureUserExists(userId);
+        
+        Pageable pageable = PageRequest.of(page, size, sort(sortBy, sortDir));
+        Slice<PostSummary> summarySlice = postRepository.findSummarySliceByUserId(userId, pageable);
         
-        return PageableResponse.of(postDTOs, page, size, postPage.getTotalElements());
+        return toPageableResponse(summarySlice, this::convertToSummaryDTO, page, size, withTotal,
+                CountCache.postsOfUser(userId), () -> postCountOf(userId));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorResponse<PostResponseDTO> getFeed(String after, int size) {
+        logger.debug("Post akışı getiriliyor - cursor: {}, boyut: {}", after, size);
+        
+        Pageable limit = feedLimit(size);
+        List<Post> posts;
+        if (after == null || after.isBlank()) {
+            posts = postRepository.findFeed(limit);
+        } else {
+            FeedCursor cursor = FeedCursor.decode(after);
+            posts = postRepository.findFeedAfter(cursor.getCreatedAt(), cursor.getId(), limit);
+        }
+        return toCursorResponse(posts, limit.getPageSize() - 1);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorResponse<PostResponseDTO> getFeedByUserId(Long userId, String after, int size) {
+        logger.debug("Kullanıcının post akışı getiriliyor: ID {}, cursor: {}", userId, after);
+        
+        ensureUserExists(userId);
+        
+        Pageable limit = feedLimit(size);
+        List<Post> posts;
+        if (after == null || after.isBlank()) {
+            posts = postRepository.findFeedByUserId(userId, limit);
+        } else {
+            FeedCursor cursor = FeedCursor.decode(after);
+            posts = postRepository.findFeedByUserIdAfter(userId, cursor.getCreatedAt(), cursor.getId(), limit);
+        }
+        return toCursorResponse(posts, limit.getPageSize() - 1);
     }
     
     public PostResponseDTO createPost(PostRequestDTO postRequestDTO) {
@@ -115,10 +269,77 @@ public class PostService {
         post.setUser(user);
         
         Post savedPost = postRepository.save(post);
+        userPostStatsRepository.addToPostCount(user.getId(), 1);
+        eventPublisher.publishEvent(new PostSavedEvent(savedPost.getId(), user.getId(), savedPost.getTitle(),
+                savedPost.getContent(), savedPost.getCreatedAt(), savedPost.getUpdatedAt(), true));
         logger.info("Post başarıyla oluşturuldu: ID {}", savedPost.getId());
         return convertToDTO(savedPost);
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResponse<PostResponseDTO> createPosts(List<PostRequestDTO> postRequestDTOs) {
+        logger.info("Toplu post oluşturuluyor: {} kayıt", postRequestDTOs.size());
+        BatchWriter.checkSize(postRequestDTOs);
+        
+        List<BatchItemResult<PostResponseDTO>> results = new ArrayList<>(Collections.nCopies(postRequestDTOs.size(), null));
+        List<Integer> candidates = new ArrayList<>();
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < postRequestDTOs.size(); i++) {
+            String error = BatchWriter.validationError(validator, postRequestDTOs.get(i));
+            if (error == null && postRequestDTOs.get(i).getUserId() == null) {
+                error = "Kullanıcı ID'si boş olamaz";
+            }
+            if (error != null) {
+                results.set(i, BatchItemResult.failure(i, error));
+            } else {
+                candidates.add(i);
+                userIds.add(postRequestDTOs.get(i).getUserId());
+            }
+        }
+        
+        // All authors are resolved with a single IN query instead of one lookup per post.
+        Map<Long, User> usersById = userIds.isEmpty() ? Map.of() : userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<Integer> pending = new ArrayList<>();
+        for (Integer i : candidates) {
+            Long userId = postRequestDTOs.get(i).getUserId();
+            if (usersById.containsKey(userId)) {
+                pending.add(i);
+            } else {
+                results.set(i, BatchItemResult.failure(i, "Kullanıcı bulunamadı: " + userId));
+            }
+        }
+        
+        BatchWriter.write(transactionTemplate, pending, chunk -> {
+            List<Post> posts = new ArrayList<>(chunk.size());
+            for (Integer i : chunk) {
+                PostRequestDTO postRequestDTO = postRequestDTOs.get(i);
+                Post post = new Post();
+                post.setTitle(postRequestDTO.getTitle());
+                post.setContent(postRequestDTO.getContent());
+                post.setUser(usersById.get(postRequestDTO.getUserId()));
+                posts.add(post);
+            }
+            postRepository.saveAll(posts);
+            posts.stream()
+                    .collect(Collectors.groupingBy(post -> post.getUser().getId(), Collectors.counting()))
+                    .forEach(userPostStatsRepository::addToPostCount);
+            entityManager.flush();
+            for (int k = 0; k < chunk.size(); k++) {
+                Post savedPost = posts.get(k);
+                eventPublisher.publishEvent(new PostSavedEvent(savedPost.getId(), savedPost.getUser().getId(),
+                        savedPost.getTitle(), savedPost.getContent(), savedPost.getCreatedAt(),
+                        savedPost.getUpdatedAt(), true));
+                results.set(chunk.get(k), BatchItemResult.success(chunk.get(k), convertToDTO(savedPost)));
+            }
+            entityManager.clear();
+        }, (i, error) -> results.set(i, BatchItemResult.failure(i, error)));
+        
+        BatchResponse<PostResponseDTO> response = BatchResponse.of(results);
+        logger.info("Toplu post oluşturma tamamlandı: {} başarılı, {} başarısız", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+    
     public PostResponseDTO updatePost(Long id, PostRequestDTO postRequestDTO) {
         logger.info("Post güncelleniyor: ID {}", id);
         
@@ -131,7 +352,11 @@ public class PostService {
         post.setTitle(postRequestDTO.getTitle());
         post.setContent(postRequestDTO.getContent());
         
-        Post updatedPost = postRepository.save(post);
+        // Flushed here so @PreUpdate has set updatedAt before it goes into the event and the response.
+        Post updatedPost = postRepository.saveAndFlush(post);
+        eventPublisher.publishEvent(new PostSavedEvent(updatedPost.getId(), updatedPost.getUser().getId(),
+                updatedPost.getTitle(), updatedPost.getContent(), updatedPost.getCreatedAt(),
+                updatedPost.getUpdatedAt(), false));
         logger.info("Post başarıyla güncellendi: ID {}", updatedPost.getId());
         return convertToDTO(updatedPost);
     }
@@ -139,48 +364,235 @@ public class PostService {
     public void deletePost(Long id) {
         logger.info("Post siliniyor: ID {}", id);
         
-        if (!postRepository.existsById(id)) {
-            logger.error("Post bulunamadı: ID {}", id);
-            throw new ResourceNotFoundException("Post bulunamadı: " + id);
-        }
+        Long userId = postRepository.findUserIdById(id)
+                .orElseThrow(() -> {
+                    logger.error("Post bulunamadı: ID {}", id);
+                    return new ResourceNotFoundException("Post bulunamadı: " + id);
+                });
         postRepository.deleteById(id);
+        userPostStatsRepository.addToPostCount(userId, -1);
+        eventPublisher.publishEvent(new PostDeletedEvent(id, userId));
         logger.info("Post başarıyla silindi: ID {}", id);
     }
     
+    @Transactional(readOnly = true)
     public List<PostResponseDTO> searchPosts(String keyword) {
         logger.debug("Postlar aranıyor: keyword = {}", keyword);
-        return postRepository.searchPosts(keyword).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        
+        if (!postSearchIndex.isReady()) {
+            return postRepository.searchPosts(keyword, PageRequest.ofSize(MAX_SEARCH_RESULTS)).stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+        }
+        List<Long> rankedIds = postSearchIndex.search(keyword, 0, MAX_SEARCH_RESULTS).getPostIds();
+        List<PostResponseDTO> posts = new ArrayList<>(rankedIds.size());
+        for (int from = 0; from < rankedIds.size(); from += STREAM_CHUNK_SIZE) {
+            posts.addAll(findRanked(rankedIds.subList(from, Math.min(from + STREAM_CHUNK_SIZE, rankedIds.size()))));
+        }
+        return posts;
     }
     
-    public PageableResponse<PostResponseDTO> searchPosts(String keyword, int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public void streamSearchResults(String keyword, Consumer<PostResponseDTO> sink) {
+        logger.debug("Arama sonuçları akış olarak gönderiliyor: keyword = {}", keyword);
+        
+        if (!postSearchIndex.isReady()) {
+            try (Stream<Post> posts = postRepository.streamSearch(keyword)) {
+                posts.limit(MAX_SEARCH_RESULTS).forEach(post -> writeAndDetach(post, sink));
+            }
+            return;
+        }
+        List<Long> rankedIds = postSearchIndex.search(keyword, 0, MAX_SEARCH_RESULTS).getPostIds();
+        for (int from = 0; from < rankedIds.size(); from += STREAM_CHUNK_SIZE) {
+            List<Long> chunk = rankedIds.subList(from, Math.min(from + STREAM_CHUNK_SIZE, rankedIds.size()));
+            findRanked(chunk).forEach(sink);
+            entityManager.clear();
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public PageableResponse<PostResponseDTO> searchPosts(String keyword, int page, int size, String sortBy, String sortDir,
+                                                         boolean withTotal) {
         logger.debug("Sayfalanmış post araması: keyword = {}, sayfa = {}", keyword, page);
+        checkSearchWindow(page, size);
         
-        Sort sort = sortDir.equalsIgnoreCase("desc") 
-                ? Sort.by(sortBy).descending() 
-                : Sort.by(sortBy).ascending();
+        boolean byRelevance = SORT_BY_RELEVANCE.equalsIgnoreCase(sortBy);
+        if (postSearchIndex.isReady()) {
+            // The index ranks or sorts the hits and knows their count, so only the page itself is read.
+            SearchResult result = searchIndex(keyword, page, size, byRelevance, sortBy, sortDir);
+            return toSearchPage(findRanked(result.getPostIds()), page, size, withTotal, result);
+        }
         
+        // Relevance only exists in the index; the LIKE fallback used before the index is ready orders by recency instead.
+        Sort sort = byRelevance ? Sort.by("createdAt").descending() : sort(sortBy, sortDir);
         Pageable pageable = PageRequest.of(page, size, sort);
+        if (!withTotal) {
+            Slice<Post> postSlice = postRepository.searchPostsSlice(keyword, pageable);
+            return toPageableResponse(postSlice, page, size, false, null, null);
+        }
         Page<Post> postPage = postRepository.searchPostsWithPagination(keyword, pageable);
+        return toPageableResponse(postPage, page, size, true, null, postPage::getTotalElements);
+    }
+    
+    @Transactional(readOnly = true)
+    public PageableResponse<PostSummaryDTO> searchPostSummaries(String keyword, int page, int size, String sortBy,
+                                                                String sortDir, boolean withTotal) {
+        logger.debug("Post özetleri aranıyor: keyword = {}, sayfa = {}", keyword, page);
+        checkSearchWindow(page, size);
+        
+        boolean byRelevance = SORT_BY_RELEVANCE.equalsIgnoreCase(sortBy);
+        if (postSearchIndex.isReady()) {
+            SearchResult result = searchIndex(keyword, page, size, byRelevance, sortBy, sortDir);
+            return toSearchPage(findRankedSummaries(result.getPostIds()), page, size, withTotal, result);
+        }
+        
+        Sort sort = byRelevance ? Sort.by("createdAt").descending() : sort(sortBy, sortDir);
+        Pageable pageable = PageRequest.of(page, size, sort);
+        if (!withTotal) {
+            Slice<PostSummary> summarySlice = postRepository.searchSummarySlice(keyword, pageable);
+            return toPageableResponse(summarySlice, this::convertToSummaryDTO, page, size, false, null, null);
+        }
+        Page<PostSummary> summaryPage = postRepository.searchSummaries(keyword, pageable);
+        return toPageableResponse(summaryPage, this::convertToSummaryDTO, page, size, true, null,
+                summaryPage::getTotalElements);
+    }
+    
+    // A primary-key lookup is answered by the second-level cache; existsById would always run a COUNT query.
+    @Transactional(readOnly = true)
+    public void ensureUserExists(Long userId) {
+        if (userRepository.findById(userId).isEmpty()) {
+            logger.error("Kullanıcı bulunamadı: ID {}", userId);
+            throw new ResourceNotFoundException("Kullanıcı bulunamadı: " + userId);
+        }
+    }
+    
+    // Users created before the counters existed have no row until the reconciliation job adds it.
+    private long postCountOf(Long userId) {
+        return userPostStatsRepository.findPostCountByUserId(userId)
+                .orElseGet(() -> postRepository.countByUserId(userId));
+    }
+    
+    private static Sort sort(String sortBy, String sortDir) {
+        return sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+    }
+    
+    private void writeAndDetach(Post post, Consumer<PostResponseDTO> sink) {
+        sink.accept(convertToDTO(post));
+        entityManager.detach(post);
+        entityManager.detach(post.getUser());
+    }
+    
+    private PageableResponse<PostResponseDTO> toPageableResponse(Slice<Post> slice, int page, int size, boolean withTotal,
+                                                                 String countKey, LongSupplier counter) {
+        return toPageableResponse(slice, this::convertToDTO, page, size, withTotal, countKey, counter);
+    }
+    
+    // Totals come from the count cache when a cache key is given; otherwise the supplier is cheap and asked directly.
+    private <S, T> PageableResponse<T> toPageableResponse(Slice<S> slice, Function<S, T> mapper, int page, int size,
+                                                          boolean withTotal, String countKey, LongSupplier counter) {
+        List<T> dtos = slice.getContent().stream()
+                .map(mapper)
+                .collect(Collectors.toList());
         
-        List<PostResponseDTO> postDTOs = postPage.getContent().stream()
+        if (!withTotal) {
+            return PageableResponse.ofSlice(dtos, page, size, slice.hasNext());
+        }
+        long total = countKey != null ? countCache.get(countKey, counter) : counter.getAsLong();
+        return PageableResponse.of(dtos, page, size, total);
+    }
+    
+    private SearchResult searchIndex(String keyword, int page, int size, boolean byRelevance, String sortBy,
+                                     String sortDir) {
+        return byRelevance
+                ? postSearchIndex.search(keyword, page * size, size)
+                : postSearchIndex.search(keyword, sort(sortBy, sortDir), page * size, size);
+    }
+    
+    // Every page of a search costs as much as all the pages before it, so deep pages are refused.
+    private static void checkSearchWindow(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Sayfa numarası negatif, sayfa boyutu 1'den küçük olamaz");
+        }
+        if ((long) (page + 1) * size > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Arama sonuçlarında en fazla ilk " + MAX_SEARCH_RESULTS
+                    + " sonuca kadar sayfalanabilir");
+        }
+    }
+    
+    private static <T> PageableResponse<T> toSearchPage(List<T> content, int page, int size, boolean withTotal,
+                                                        SearchResult result) {
+        PageableResponse<T> response = withTotal
+                ? PageableResponse.of(content, page, size, result.getTotalHits())
+                : PageableResponse.ofSlice(content, page, size, (long) (page + 1) * size < result.getTotalHits());
+        response.setApproximate(result.isApproximate());
+        return response;
+    }
+    
+    private List<PostResponseDTO> findRanked(List<Long> rankedIds) {
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Post> postsById = postRepository.findByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+    }
+    
+    private List<PostSummaryDTO> findRankedSummaries(List<Long> rankedIds) {
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostSummary> summariesById = postRepository.findSummariesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToSummaryDTO)
+                .collect(Collectors.toList());
+    }
+    
+    // One extra row is fetched to learn whether a next page exists without running a COUNT.
+    private Pageable feedLimit(int size) {
+        if (size < 1) {
+            throw new BadRequestException("Sayfa boyutu en az 1 olmalıdır");
+        }
+        return PageRequest.ofSize(Math.min(size, MAX_FEED_SIZE) + 1);
+    }
+    
+    private CursorResponse<PostResponseDTO> toCursorResponse(List<Post> posts, int size) {
+        boolean hasNext = posts.size() > size;
+        List<Post> pageContent = hasNext ? posts.subList(0, size) : posts;
         
-        return PageableResponse.of(postDTOs, page, size, postPage.getTotalElements());
+        List<PostResponseDTO> postDTOs = pageContent.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        
+        String nextCursor = hasNext ? FeedCursor.encode(pageContent.get(pageContent.size() - 1)) : null;
+        return CursorResponse.of(postDTOs, size, nextCursor);
     }
     
-    private PostResponseDTO convertToDTO(Post post) {
+    PostResponseDTO convertToDTO(Post post) {
         PostResponseDTO dto = new PostResponseDTO();
         dto.setId(post.getId());
         dto.setTitle(post.getTitle());
         dto.setContent(post.getContent());
-        dto.setUserId(post.getUser().getId());
-        dto.setUserName(post.getUser().getName() + " " + post.getUser().getSurname());
+        // getId() on the lazy author proxy reads the foreign key without initializing it.
+        Long userId = post.getUser().getId();
+        dto.setUserId(userId);
+        dto.setUserName(authorNameCache.get(userId));
         dto.setCreatedAt(post.getCreatedAt());
         dto.setUpdatedAt(post.getUpdatedAt());
         return dto;
     }
+    
+    PostSummaryDTO convertToSummaryDTO(PostSummary summary) {
+        return new PostSummaryDTO(summary.getId(), summary.getTitle(), summary.getExcerpt(), summary.getUserId(),
+                authorNameCache.get(summary.getUserId()), summary.getCreatedAt(), summary.getUpdatedAt());
+    }
 }
 
@@ -0,0 +1,580 @@
+package com.mustafatopalearning.spring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.PostWriteStatusDTO;
+import com.mustafatopalearning.spring.datasource.PrimaryReads;
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.exception.ResourceNotFoundException;
+import com.mustafatopalearning.spring.exception.ServiceUnavailableException;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind mode for POST /api/posts (app.posts.write-behind.enabled). A request is validated,
+ * gets its id from the posts_seq pool Hibernate itself uses, is appended to the journal (forced to disk) and
+ * queued; the client gets 202 with the id. One worker drains the queue and inserts whatever has accumulated
+ * as one JDBC batch, so a burst of requests becomes a few large transactions instead of one each.
+ * <p>
+ * The queue is bounded: when it is full the request is rejected with 503 instead of growing memory or lag.
+ * An acknowledged post is on disk; if the process stops before the worker reaches it, it is inserted on the
+ * next startup. Until then it is not readable: posts.write_behind.lag shows how far behind the worker is.
+ * <p>
+ * A post that the database rejects after it was accepted (its author was deleted in between) is moved to a
+ * dead-letter file next to the journal; {@link #getStatus(Long)} tells the client whether its post is still
+ * pending, written or failed. At most dead-letter-capacity of them are kept (the oldest is dropped first, and
+ * counted); {@link #retryDeadLetters()} writes the ones the database now accepts and {@link #purgeDeadLetters()}
+ * drops them all. The file is rewritten to match whenever either runs or it holds twice the capacity.
+ */
+@Component
+public class PostWriteBehind implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostWriteBehind.class);
+    private static final String INSERT_SQL =
+            "INSERT INTO posts (id, title, content, excerpt, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    
+    private final boolean enabled;
+    private final int batchSize;
+    private final int deadLetterCapacity;
+    private final Path journalPath;
+    private final Path deadLetterPath;
+    private final BlockingQueue<QueuedPost> queue;
+    private final Semaphore slots;
+    private final PostRepository postRepository;
+    private final UserPostStatsRepository userPostStatsRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SessionFactoryImplementor sessionFactory;
+    
+    // Ids accepted but not yet written or dead-lettered; bounded by the queue capacity.
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    // Oldest first. The map, the dead-letter journal and its entry count are guarded by deadLetterLock.
+    private final LinkedHashMap<Long, QueuedPost> deadLetters = new LinkedHashMap<>();
+    private final ReentrantLock deadLetterLock = new ReentrantLock();
+    
+    private PostJournal journal;
+    private PostJournal deadLetterJournal;
+    private int deadLetterFileEntries;
+    private Thread worker;
+    private volatile boolean running;
+    // acceptedNanos of the oldest post in the batch being written, 0 when the worker is idle.
+    private volatile long inFlightSince;
+    private Timer latency;
+    private Counter rejected;
+    private Counter failed;
+    private Counter evicted;
+    
+    @Autowired
+    public PostWriteBehind(@Value("${app.posts.write-behind.enabled:false}") boolean enabled,
+                           @Value("${app.posts.write-behind.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.posts.write-behind.batch-size:500}") int batchSize,
+                           @Value("${app.posts.write-behind.dead-letter-capacity:1000}") int deadLetterCapacity,
+                           @Value("${app.posts.write-behind.journal:${java.io.tmpdir}/posts-write-behind.journal}") Path journalPath,
+                           PostRepository postRepository, UserPostStatsRepository userPostStatsRepository,
+                           UserRepository userRepository,
+                           ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                           EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.deadLetterCapacity = deadLetterCapacity;
+        this.journalPath = journalPath;
+        this.deadLetterPath = journalPath.resolveSibling(journalPath.getFileName() + ".failed");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.slots = new Semaphore(queueCapacity);
+        this.postRepository = postRepository;
+        this.userPostStatsRepository = userPostStatsRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (enabled) {
+            registerMetrics(meterRegistry);
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public PostResponseDTO submit(PostRequestDTO postRequestDTO) {
+        Long userId = postRequestDTO.getUserId();
+        // Checked on the primary rather than a cache or replica, so a user deleted a moment ago is rejected here
+        // with 404 instead of after the 202. A deletion racing the queue still ends up in the dead-letter file.
+        Optional<String> userName = PrimaryReads.call(() -> userRepository.findDisplayNameById(userId));
+        if (userName.isEmpty()) {
+            logger.error("Kullanıcı bulunamadı: ID {}", userId);
+            throw new ResourceNotFoundException("Kullanıcı bulunamadı: " + userId);
+        }
+        if (!running || !slots.tryAcquire()) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Post yazma kuyruğu dolu, lütfen daha sonra tekrar deneyin");
+        }
+        try {
+            QueuedPost post = new QueuedPost(reserveId(), userId, postRequestDTO.getTitle(), postRequestDTO.getContent(),
+                    LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), System.nanoTime());
+            journal.append(post);
+            pending.add(post.getId());
+            queue.add(post);
+            logger.debug("Post yazma kuyruğuna alındı: ID {}", post.getId());
+            return new PostResponseDTO(post.getId(), post.getTitle(), post.getContent(), userId, userName.get(),
+                    post.getCreatedAt(), post.getCreatedAt());
+        } catch (IOException e) {
+            slots.release();
+            throw new IllegalStateException("Post günlüğe yazılamadı", e);
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+    
+    public int getQueueSize() {
+        return queue.size();
+    }
+    
+    // Pending is checked first: an id leaves the pending set only after its row committed or it was dead-lettered.
+    public PostWriteStatusDTO getStatus(Long id) {
+        if (pending.contains(id)) {
+            return new PostWriteStatusDTO(id, PostWriteStatusDTO.Status.PENDING);
+        }
+        if (isDeadLetter(id)) {
+            return new PostWriteStatusDTO(id, PostWriteStatusDTO.Status.FAILED);
+        }
+        if (PrimaryReads.call(() -> postRepository.existsById(id))) {
+            return new PostWriteStatusDTO(id, PostWriteStatusDTO.Status.WRITTEN);
+        }
+        throw new ResourceNotFoundException("Post bulunamadı: " + id);
+    }
+    
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            journal = new PostJournal(journalPath, objectMapper);
+            loadDeadLetters();
+            replay();
+        } catch (IOException e) {
+            throw new IllegalStateException("Post günlüğü açılamadı: " + journalPath, e);
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("post-write-behind").daemon(false).start(this::drain);
+        logger.info("Post yazma kuyruğu etkin: kapasite {}, günlük {}", slots.availablePermits(), journalPath);
+    }
+    
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join();
+            if (!journal.truncateIfResolved()) {
+                logger.warn("Post yazma kuyruğu boşaltılamadı, kalan kayıtlar sonraki açılışta yazılacak");
+            }
+            journal.close();
+            deadLetterLock.lock();
+            try {
+                deadLetterJournal.close();
+            } finally {
+                deadLetterLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Post günlüğü kapatılamadı: {}", e.getMessage());
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    // Started before the web server accepts requests and stopped after it has stopped, so nothing is
+    // accepted while the queue is not being drained.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+    
+    // Writes the dead letters the database now accepts (e.g. once the row they referenced exists again); the
+    // ones it still rejects stay. Returns how many were written.
+    public int retryDeadLetters() {
+        requireRunning();
+        deadLetterLock.lock();
+        try {
+            int written = 0;
+            try {
+                Iterator<QueuedPost> posts = deadLetters.values().iterator();
+                while (posts.hasNext()) {
+                    QueuedPost post = posts.next();
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(post)));
+                        posts.remove();
+                        written++;
+                    } catch (DataIntegrityViolationException e) {
+                        // Written by an earlier retry whose file rewrite failed.
+                        if (PrimaryReads.call(() -> postRepository.existsById(post.getId()))) {
+                            posts.remove();
+                        }
+                    }
+                }
+            } finally {
+                if (written > 0) {
+                    invalidateCachedQueries();
+                }
+                compactDeadLetters();
+            }
+            logger.info("Yazılamayan postlardan {} tanesi yazıldı, {} tanesi hâlâ yazılamıyor", written, deadLetters.size());
+            return written;
+        } finally {
+            deadLetterLock.unlock();
+        }
+    }
+    
+    // Drops every dead letter; their status becomes unknown (404). Returns how many were dropped.
+    public int purgeDeadLetters() {
+        requireRunning();
+        deadLetterLock.lock();
+        try {
+            int purged = deadLetters.size();
+            deadLetters.clear();
+            compactDeadLetters();
+            logger.warn("Yazılamayan {} post silindi", purged);
+            return purged;
+        } finally {
+            deadLetterLock.unlock();
+        }
+    }
+    
+    private void requireRunning() {
+        if (!running) {
+            throw new ServiceUnavailableException("Post yazma kuyruğu çalışmıyor");
+        }
+    }
+    
+    private boolean isDeadLetter(Long id) {
+        deadLetterLock.lock();
+        try {
+            return deadLetters.containsKey(id);
+        } finally {
+            deadLetterLock.unlock();
+        }
+    }
+    
+    private int deadLetterCount() {
+        deadLetterLock.lock();
+        try {
+            return deadLetters.size();
+        } finally {
+            deadLetterLock.unlock();
+        }
+    }
+    
+    private void loadDeadLetters() throws IOException {
+        deadLetterLock.lock();
+        try {
+            deadLetterJournal = new PostJournal(deadLetterPath, objectMapper);
+            deadLetters.clear();
+            List<QueuedPost> posts = deadLetterJournal.readAll();
+            posts.forEach(this::addDeadLetter);
+            deadLetterFileEntries = posts.size();
+            if (deadLetterFileEntries > deadLetters.size()) {
+                compactDeadLetters();
+            }
+        } finally {
+            deadLetterLock.unlock();
+        }
+    }
+    
+    private void addDeadLetter(QueuedPost post) {
+        deadLetters.put(post.getId(), post);
+        if (deadLetters.size() > deadLetterCapacity) {
+            QueuedPost oldest = deadLetters.pollFirstEntry().getValue();
+            evicted.increment();
+            logger.error("Yazılamayan post sınırı ({}) aşıldı, en eski kayıt silindi: ID {}, kullanıcı ID {}",
+                    deadLetterCapacity, oldest.getId(), oldest.getUserId());
+        }
+    }
+    
+    // Rewrites the dead-letter file to hold exactly the current dead letters. Called with deadLetterLock held.
+    private void compactDeadLetters() {
+        try {
+            deadLetterJournal.close();
+            try {
+                PostJournal.replace(deadLetterPath, deadLetters.values(), objectMapper);
+                deadLetterFileEntries = deadLetters.size();
+            } finally {
+                deadLetterJournal = new PostJournal(deadLetterPath, objectMapper);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Yazılamayan postlar dosyası güncellenemedi: " + deadLetterPath, e);
+        }
+    }
+    
+    private void replay() throws IOException {
+        List<QueuedPost> pending = journal.readAll();
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Entries whose batch committed before the stop are already in the table.
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Long> ids = pending.subList(from, Math.min(from + batchSize, pending.size())).stream()
+                    .map(QueuedPost::getId)
+                    .toList();
+            existing.addAll(postRepository.findExistingIds(ids));
+        }
+        List<QueuedPost> missing = pending.stream().filter(post -> !existing.contains(post.getId())).toList();
+        long now = System.nanoTime();
+        missing.forEach(post -> post.setAcceptedNanos(now));
+        // A failure here fails startup and leaves the journal as it is.
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            write(missing.subList(from, Math.min(from + batchSize, missing.size())));
+        }
+        journal.markResolved(pending.size());
+        journal.truncateIfResolved();
+        logger.info("Post günlüğünden {} kayıt yeniden yazıldı ({} kayıt zaten veritabanındaydı)",
+                missing.size(), pending.size() - missing.size());
+    }
+    
+    private void drain() {
+        List<QueuedPost> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedPost first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // No artificial wait: whatever queued up while the previous batch was written goes in this one.
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                inFlightSince = first.getAcceptedNanos();
+                if (!writeUntilDone(batch)) {
+                    return;
+                }
+                journal.markResolved(batch.size());
+                slots.release(batch.size());
+                inFlightSince = 0;
+                batch.clear();
+                if (queue.isEmpty()) {
+                    journal.truncateIfResolved();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                logger.warn("Post günlüğü kısaltılamadı: {}", e.getMessage());
+            }
+        }
+    }
+    
+    // Retries until the batch is written; false only when stopping while the database is unavailable, in
+    // which case the batch stays in the journal for the next startup.
+    private boolean writeUntilDone(List<QueuedPost> batch) {
+        while (true) {
+            try {
+                write(batch);
+                return true;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    logger.error("Kuyruktaki {} post yazılamadı, sonraki açılışta tekrar denenecek: {}", batch.size(), e.getMessage());
+                    return false;
+                }
+                logger.warn("Kuyruktaki {} post yazılamadı, tekrar denenecek: {}", batch.size(), e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+    
+    // A constraint violation (e.g. the author was deleted after the post was accepted) can never succeed, so
+    // the batch is split to find the offending posts and move them to the dead-letter file; any other failure
+    // is left to the caller to retry.
+    private void write(List<QueuedPost> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            written(batch);
+        } catch (DataIntegrityViolationException batchFailure) {
+            for (QueuedPost post : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(post)));
+                    written(List.of(post));
+                } catch (DataIntegrityViolationException postFailure) {
+                    // A retried batch can hold posts an earlier attempt already wrote one by one.
+                    if (!PrimaryReads.call(() -> postRepository.existsById(post.getId()))) {
+                        deadLetter(post);
+                    }
+                }
+            }
+        }
+        invalidateCachedQueries();
+    }
+    
+    private void deadLetter(QueuedPost post) {
+        deadLetterLock.lock();
+        try {
+            try {
+                deadLetterJournal.append(post);
+            } catch (IOException e) {
+                // Retried with the batch, so the post stays in the journal until its failure is on disk.
+                throw new IllegalStateException("Yazılamayan post kaydedilemedi: ID " + post.getId(), e);
+            }
+            deadLetterFileEntries++;
+            addDeadLetter(post);
+            if (deadLetterFileEntries > 2 * deadLetterCapacity) {
+                try {
+                    compactDeadLetters();
+                } catch (IllegalStateException e) {
+                    logger.warn("Yazılamayan postlar dosyası küçültülemedi: {}", e.getMessage());
+                }
+            }
+        } finally {
+            deadLetterLock.unlock();
+        }
+        pending.remove(post.getId());
+        failed.increment();
+        logger.error("Kuyruktaki post veritabanı kısıtlarını ihlal ediyor, yazılamayanlar dosyasına taşındı: ID {}, kullanıcı ID {}",
+                post.getId(), post.getUserId());
+    }
+    
+    // JDBC inserts bypass Hibernate, so cached query results over posts are marked stale after the commit.
+    private void invalidateCachedQueries() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            sessionFactory.getCache().getTimestampsCache()
+                    .invalidate(new String[] {"posts"}, (SharedSessionContractImplementor) session);
+        }
+    }
+    
+    private void insert(List<QueuedPost> posts) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, posts, posts.size(), (statement, post) -> {
+            Timestamp createdAt = Timestamp.valueOf(post.getCreatedAt());
+            statement.setLong(1, post.getId());
+            statement.setString(2, post.getTitle());
+            statement.setString(3, post.getContent());
+            statement.setString(4, Post.excerptOf(post.getContent()));
+            statement.setLong(5, post.getUserId());
+            statement.setTimestamp(6, createdAt);
+            statement.setTimestamp(7, createdAt);
+        });
+        posts.stream()
+                .collect(Collectors.groupingBy(QueuedPost::getUserId, Collectors.counting()))
+                .forEach(userPostStatsRepository::addToPostCount);
+        for (QueuedPost post : posts) {
+            eventPublisher.publishEvent(new PostSavedEvent(post.getId(), post.getUserId(), post.getTitle(),
+                    post.getContent(), post.getCreatedAt(), post.getCreatedAt(), true));
+        }
+    }
+    
+    private void written(List<QueuedPost> posts) {
+        long now = System.nanoTime();
+        for (QueuedPost post : posts) {
+            latency.record(now - post.getAcceptedNanos(), TimeUnit.NANOSECONDS);
+            pending.remove(post.getId());
+        }
+    }
+    
+    private Long reserveId() {
+        // Same generator and pooled optimizer as EntityManager.persist, so the ids never collide with theirs.
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Post.class)
+                .getGenerator();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) generator.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT);
+        }
+    }
+    
+    private double lagSeconds() {
+        long oldest = inFlightSince;
+        QueuedPost head = queue.peek();
+        if (oldest == 0 && head != null) {
+            oldest = head.getAcceptedNanos();
+        }
+        return oldest == 0 ? 0 : (System.nanoTime() - oldest) / 1e9;
+    }
+    
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("posts.write_behind.queue.size", queue, BlockingQueue::size)
+                .description("Veritabanına yazılmayı bekleyen post sayısı")
+                .register(meterRegistry);
+        TimeGauge.builder("posts.write_behind.lag", this, TimeUnit.SECONDS, PostWriteBehind::lagSeconds)
+                .description("Yazılmayı bekleyen en eski postun kuyrukta geçirdiği süre")
+                .register(meterRegistry);
+        latency = Timer.builder("posts.write_behind.latency")
+                .description("Postun kabul edilmesinden veritabanına yazılmasına kadar geçen süre")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        rejected = Counter.builder("posts.write_behind.rejected")
+                .description("Kuyruk dolu olduğu için reddedilen post sayısı")
+                .register(meterRegistry);
+        failed = Counter.builder("posts.write_behind.failed")
+                .description("Kabul edildikten sonra veritabanı kısıtları nedeniyle yazılamayan post sayısı")
+                .register(meterRegistry);
+        Gauge.builder("posts.write_behind.dead_letters", this, PostWriteBehind::deadLetterCount)
+                .description("Yazılamayanlar dosyasında tutulan post sayısı")
+                .register(meterRegistry);
+        evicted = Counter.builder("posts.write_behind.dead_letters.evicted")
+                .description("Yazılamayan post sınırı aşıldığı için silinen kayıt sayısı")
+                .register(meterRegistry);
+    }
+}
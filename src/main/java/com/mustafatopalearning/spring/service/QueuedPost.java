@@ -0,0 +1,25 @@
+package com.mustafatopalearning.spring.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A post accepted by the write-behind queue: one journal line, and the row it becomes.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+class QueuedPost {
+    
+    private Long id;
+    private Long userId;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+    
+    // System.nanoTime() at acceptance (or replay), for the lag metrics; not journaled.
+    @JsonIgnore
+    private long acceptedNanos;
+}
@@ -0,0 +1,89 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.cache.CountCache;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recomputes the materialized post counters (user_post_stats) from the posts table. Counters are changed in
+ * the same transaction as the posts, so drift only comes from writes that bypass the services (bulk SQL,
+ * restored backups) or from users created before the counters existed. Users are walked in id order, one
+ * short transaction per chunk; only rows whose count differs are written.
+ */
+@Component
+public class UserPostStatsReconciler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserPostStatsReconciler.class);
+    static final int CHUNK_SIZE = 1000;
+    
+    private final UserRepository userRepository;
+    private final UserPostStatsRepository userPostStatsRepository;
+    private final CountCache countCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repaired;
+    
+    @Autowired
+    public UserPostStatsReconciler(UserRepository userRepository, UserPostStatsRepository userPostStatsRepository,
+                                   CountCache countCache, PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userPostStatsRepository = userPostStatsRepository;
+        this.countCache = countCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repaired = Counter.builder("users.post_stats.repaired")
+                .description("Mutabakat işinin eklediği, düzelttiği veya sildiği post sayacı satırı sayısı")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(initialDelayString = "${app.users.post-stats.reconcile-initial-delay:1m}",
+               fixedDelayString = "${app.users.post-stats.reconcile-interval:1h}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            logger.error("Post sayaçları mutabakatı başarısız oldu", e);
+        }
+    }
+    
+    /**
+     * @return number of counter rows inserted, corrected or deleted
+     */
+    public int reconcile() {
+        int changed = 0;
+        long lastId = 0;
+        List<Long> userIds;
+        do {
+            long afterId = lastId;
+            userIds = userRepository.findIdBatch(afterId, PageRequest.ofSize(CHUNK_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = userIds;
+            changed += transactionTemplate.execute(status -> userPostStatsRepository.insertMissing(chunk)
+                    + userPostStatsRepository.repairPostCounts(chunk));
+            lastId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == CHUNK_SIZE);
+        changed += transactionTemplate.execute(status -> userPostStatsRepository.deleteOrphans());
+        
+        if (changed > 0) {
+            repaired.increment(changed);
+            countCache.invalidateAll();
+            logger.warn("Post sayaçları düzeltildi: {} satır", changed);
+        } else {
+            logger.debug("Post sayaçları tutarlı");
+        }
+        return changed;
+    }
+}
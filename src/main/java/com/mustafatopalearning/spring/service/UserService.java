@@ -1,37 +1,100 @@
 package com.mustafatopalearning.spring.service;
 
+import com.mustafatopalearning.spring.cache.CollectionVersions;
+import com.mustafatopalearning.spring.cache.CountCache;
+import com.mustafatopalearning.spring.cache.ResponseDtoCache;
+import com.mustafatopalearning.spring.datasource.PrimaryReads;
+import com.mustafatopalearning.spring.dto.BatchItemResult;
+import com.mustafatopalearning.spring.dto.BatchResponse;
 import com.mustafatopalearning.spring.dto.PageableResponse;
 import com.mustafatopalearning.spring.dto.UserRequestDTO;
 import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.dto.UserStatsDTO;
 import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.entity.UserPostStats;
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
 import com.mustafatopalearning.spring.exception.BadRequestException;
+import com.mustafatopalearning.spring.exception.ConflictException;
 import com.mustafatopalearning.spring.exception.ResourceNotFoundException;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
 import com.mustafatopalearning.spring.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed(value = "service.method", histogram = true)
 public class UserService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+    static final int DELETE_CHUNK_SIZE = 1000;
+    static final int USER_DELETE_ATTEMPTS = 3;
     private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final UserPostStatsRepository userPostStatsRepository;
+    private final EntityManager entityManager;
+    private final ResponseDtoCache responseDtoCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CountCache countCache;
+    private final CollectionVersions collectionVersions;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    // One deletion per user at a time, shared by the synchronous and background paths; completes with the post count.
+    private final Map<Long, CompletableFuture<Long>> deletionsInProgress = new ConcurrentHashMap<>();
     
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, PostRepository postRepository,
+                       UserPostStatsRepository userPostStatsRepository, EntityManager entityManager,
+                       ResponseDtoCache responseDtoCache, ApplicationEventPublisher eventPublisher,
+                       CountCache countCache, CollectionVersions collectionVersions, Validator validator,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.userPostStatsRepository = userPostStatsRepository;
+        this.entityManager = entityManager;
+        this.responseDtoCache = responseDtoCache;
+        this.eventPublisher = eventPublisher;
+        this.countCache = countCache;
+        this.collectionVersions = collectionVersions;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
     
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getAllUsers() {
         logger.debug("Tüm kullanıcılar getiriliyor");
         return userRepository.findAll().stream()
@@ -39,7 +102,19 @@ public class UserService {
                 .collect(Collectors.toList());
     }
     
-    public PageableResponse<UserResponseDTO> getAllUsers(int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponseDTO> sink) {
+        logger.debug("Tüm kullanıcılar akış olarak gönderiliyor");
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                sink.accept(convertToDTO(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public PageableResponse<UserResponseDTO> getAllUsers(int page, int size, String sortBy, String sortDir, boolean withTotal) {
         logger.debug("Sayfalanmış kullanıcılar getiriliyor - sayfa: {}, boyut: {}, sıralama: {}", page, size, sortBy);
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
@@ -47,19 +122,42 @@ public class UserService {
                 : Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<User> userPage = userRepository.findAll(pageable);
+        Slice<User> userSlice = userRepository.findUserSlice(pageable);
         
-        List<UserResponseDTO> userDTOs = userPage.getContent().stream()
+        List<UserResponseDTO> userDTOs = userSlice.getContent().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
         
-        return PageableResponse.of(userDTOs, page, size, userPage.getTotalElements());
+        if (!withTotal) {
+            return PageableResponse.ofSlice(userDTOs, page, size, userSlice.hasNext());
+        }
+        long totalElements = countCache.get(CountCache.ALL_USERS, userRepository::count);
+        return PageableResponse.of(userDTOs, page, size, totalElements);
     }
     
+    @Transactional(readOnly = true)
     public UserResponseDTO getUserById(Long id) {
-        User user = userRepository.findById(id)
+        return responseDtoCache.getUser(id, userId -> PrimaryReads.call(() -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Kullanıcı bulunamadı: " + userId));
+            return convertToDTO(user);
+        }));
+    }
+    
+    @Transactional(readOnly = true)
+    public String getUserETag(Long id) {
+        UserResponseDTO cached = responseDtoCache.getUserIfPresent(id);
+        if (cached != null) {
+            return ETags.user(cached.getId(), cached.getVersion());
+        }
+        Long version = userRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Kullanıcı bulunamadı: " + id));
-        return convertToDTO(user);
+        return ETags.user(id, version);
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getUsersETag() {
+        return ETags.collection("users", collectionVersions.getEpoch(), collectionVersions.users());
     }
     
     public UserResponseDTO createUser(UserRequestDTO userRequestDTO) {
@@ -76,10 +174,72 @@ public class UserService {
         user.setSurname(userRequestDTO.getSurname());
         
         User savedUser = userRepository.save(user);
+        entityManager.persist(new UserPostStats(savedUser.getId(), 0, LocalDateTime.now()));
+        eventPublisher.publishEvent(new UserSavedEvent(savedUser.getId(), savedUser.getName(), savedUser.getSurname(), true));
         logger.info("Kullanıcı başarıyla oluşturuldu: ID {}", savedUser.getId());
         return convertToDTO(savedUser);
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResponse<UserResponseDTO> createUsers(List<UserRequestDTO> userRequestDTOs) {
+        logger.info("Toplu kullanıcı oluşturuluyor: {} kayıt", userRequestDTOs.size());
+        BatchWriter.checkSize(userRequestDTOs);
+        
+        List<BatchItemResult<UserResponseDTO>> results = new ArrayList<>(Collections.nCopies(userRequestDTOs.size(), null));
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < userRequestDTOs.size(); i++) {
+            String error = BatchWriter.validationError(validator, userRequestDTOs.get(i));
+            if (error == null && !emails.add(userRequestDTOs.get(i).getEmail())) {
+                error = "Email adresi istekte birden fazla kez geçiyor: " + userRequestDTOs.get(i).getEmail();
+            }
+            if (error != null) {
+                results.set(i, BatchItemResult.failure(i, error));
+            } else {
+                candidates.add(i);
+            }
+        }
+        
+        Set<String> existingEmails = emails.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingEmails(emails));
+        List<Integer> pending = new ArrayList<>();
+        for (Integer i : candidates) {
+            String email = userRequestDTOs.get(i).getEmail();
+            if (existingEmails.contains(email)) {
+                results.set(i, BatchItemResult.failure(i, "Bu email adresi zaten kullanılıyor: " + email));
+            } else {
+                pending.add(i);
+            }
+        }
+        
+        BatchWriter.write(transactionTemplate, pending, chunk -> {
+            List<User> users = new ArrayList<>(chunk.size());
+            for (Integer i : chunk) {
+                UserRequestDTO userRequestDTO = userRequestDTOs.get(i);
+                User user = new User();
+                user.setEmail(userRequestDTO.getEmail());
+                user.setName(userRequestDTO.getName());
+                user.setSurname(userRequestDTO.getSurname());
+                users.add(user);
+            }
+            userRepository.saveAll(users);
+            LocalDateTime now = LocalDateTime.now();
+            for (User user : users) {
+                entityManager.persist(new UserPostStats(user.getId(), 0, now));
+            }
+            entityManager.flush();
+            for (int k = 0; k < chunk.size(); k++) {
+                User savedUser = users.get(k);
+                eventPublisher.publishEvent(new UserSavedEvent(savedUser.getId(), savedUser.getName(), savedUser.getSurname(), true));
+                results.set(chunk.get(k), BatchItemResult.success(chunk.get(k), convertToDTO(savedUser)));
+            }
+            entityManager.clear();
+        }, (i, error) -> results.set(i, BatchItemResult.failure(i, error)));
+        
+        BatchResponse<UserResponseDTO> response = BatchResponse.of(results);
+        logger.info("Toplu kullanıcı oluşturma tamamlandı: {} başarılı, {} başarısız", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+    
     public UserResponseDTO updateUser(Long id, UserRequestDTO userRequestDTO) {
         logger.info("Kullanıcı güncelleniyor: ID {}", id);
         
@@ -100,28 +260,142 @@ public class UserService {
         user.setSurname(userRequestDTO.getSurname());
         
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserSavedEvent(updatedUser.getId(), updatedUser.getName(), updatedUser.getSurname(), false));
         logger.info("Kullanıcı başarıyla güncellendi: ID {}", updatedUser.getId());
         return convertToDTO(updatedUser);
     }
     
+    // Each chunk of posts is deleted in its own short transaction, so a prolific user neither loads every post
+    // (the cascade on User.posts would) nor holds row locks for the whole deletion. A request for a user that is
+    // already being deleted waits for that deletion instead of running a second one alongside it.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteUser(Long id) {
         logger.info("Kullanıcı siliniyor: ID {}", id);
         
+        ensureUserExists(id);
+        CompletableFuture<Long> deletion = new CompletableFuture<>();
+        CompletableFuture<Long> inProgress = deletionsInProgress.putIfAbsent(id, deletion);
+        if (inProgress != null) {
+            logger.info("Kullanıcı zaten siliniyor, bitmesi bekleniyor: ID {}", id);
+            awaitDeletion(inProgress);
+            return;
+        }
+        long deletedPosts = runDeletion(id, deletion);
+        logger.info("Kullanıcı başarıyla silindi: ID {} ({} post)", id, deletedPosts);
+    }
+    
+    // The caller checks existence first (ensureUserExists) so a missing user is still answered with 404.
+    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteUserInBackground(Long id) {
+        CompletableFuture<Long> deletion = new CompletableFuture<>();
+        if (deletionsInProgress.putIfAbsent(id, deletion) != null) {
+            logger.info("Kullanıcı zaten siliniyor: ID {}", id);
+            return;
+        }
+        try {
+            logger.info("Kullanıcı arka planda siliniyor: ID {}", id);
+            long deletedPosts = runDeletion(id, deletion);
+            logger.info("Kullanıcı arka planda silindi: ID {} ({} post)", id, deletedPosts);
+        } catch (RuntimeException e) {
+            logger.error("Kullanıcı arka planda silinemedi: ID {}", id, e);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public UserStatsDTO getUserStats(Long id) {
+        logger.debug("Kullanıcı istatistikleri getiriliyor: ID {}", id);
+        
+        Optional<UserPostStats> stats = userPostStatsRepository.findById(id);
+        if (stats.isPresent()) {
+            return new UserStatsDTO(id, stats.get().getPostCount(), stats.get().getUpdatedAt());
+        }
+        // Users created before the counters existed are counted directly until the reconciliation job adds their row.
+        ensureUserExists(id);
+        return new UserStatsDTO(id, postRepository.countByUserId(id), null);
+    }
+    
+    public void ensureUserExists(Long id) {
         if (!userRepository.existsById(id)) {
             logger.error("Kullanıcı bulunamadı: ID {}", id);
             throw new ResourceNotFoundException("Kullanıcı bulunamadı: " + id);
         }
-        userRepository.deleteById(id);
-        logger.info("Kullanıcı başarıyla silindi: ID {}", id);
     }
     
-    private UserResponseDTO convertToDTO(User user) {
+    private long runDeletion(Long id, CompletableFuture<Long> deletion) {
+        try {
+            long deletedPosts = deleteInChunks(id);
+            deletion.complete(deletedPosts);
+            return deletedPosts;
+        } catch (RuntimeException e) {
+            deletion.completeExceptionally(e);
+            throw e;
+        } finally {
+            deletionsInProgress.remove(id, deletion);
+        }
+    }
+    
+    private static void awaitDeletion(CompletableFuture<Long> deletion) {
+        try {
+            deletion.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private long deleteInChunks(Long id) {
+        long deletedPosts = 0;
+        int userDeleteAttempts = 0;
+        while (true) {
+            List<Long> postIds;
+            try {
+                postIds = deleteNextChunk(id);
+            } catch (DataIntegrityViolationException e) {
+                // A post was added after the last chunk was read; the next round deletes it and tries again.
+                if (++userDeleteAttempts >= USER_DELETE_ATTEMPTS) {
+                    logger.warn("Kullanıcı silinirken yeni postlar eklenmeye devam etti: ID {}", id);
+                    throw new ConflictException("Kullanıcı silinirken yeni postlar eklendi, lütfen tekrar deneyin: " + id);
+                }
+                continue;
+            }
+            if (postIds == null || postIds.isEmpty()) {
+                return deletedPosts;
+            }
+            deletedPosts += postIds.size();
+            logger.debug("Kullanıcının {} postu silindi: ID {}", deletedPosts, id);
+        }
+    }
+    
+    private List<Long> deleteNextChunk(Long id) {
+        return transactionTemplate.execute(status -> {
+            List<Long> chunk = postRepository.findIdsByUserId(id, PageRequest.ofSize(DELETE_CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                // Posts created meanwhile would fail the user delete on the foreign key and roll this back.
+                userRepository.deleteAllByIdInBatch(List.of(id));
+                userPostStatsRepository.deleteAllByIdInBatch(List.of(id));
+                eventPublisher.publishEvent(new UserDeletedEvent(id));
+                return chunk;
+            }
+            postRepository.deleteAllByIdInBatch(chunk);
+            userPostStatsRepository.addToPostCount(id, -chunk.size());
+            for (Long postId : chunk) {
+                eventPublisher.publishEvent(new PostDeletedEvent(postId, id));
+            }
+            return chunk;
+        });
+    }
+    
+    UserResponseDTO convertToDTO(User user) {
         UserResponseDTO dto = new UserResponseDTO();
         dto.setId(user.getId());
         dto.setEmail(user.getEmail());
         dto.setName(user.getName());
         dto.setSurname(user.getSurname());
         dto.setCreatedAt(user.getCreatedAt());
+        dto.setVersion(user.getVersion());
         return dto;
     }
 }
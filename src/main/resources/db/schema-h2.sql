@@ -0,0 +1,40 @@
+-- Schema for embedded databases in the prod profile, where Hibernate only validates (ddl-auto=validate).
+-- Must be kept in sync with the entities; ProdProfileTest fails when they drift apart.
+
+create sequence users_seq start with 1 increment by 50;
+
+create sequence posts_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    name varchar(255) not null,
+    surname varchar(255) not null,
+    email varchar(255) not null,
+    created_at timestamp(6),
+    version bigint,
+    primary key (id),
+    constraint idx_users_email unique (email)
+);
+
+create table posts (
+    id bigint not null,
+    title varchar(200) not null,
+    content text not null,
+    excerpt varchar(201),
+    user_id bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint fk_posts_user foreign key (user_id) references users
+);
+
+create index idx_posts_user_created on posts (user_id, created_at, id);
+
+create index idx_posts_created on posts (created_at, id);
+
+create table user_post_stats (
+    user_id bigint not null,
+    post_count bigint not null,
+    updated_at timestamp(6),
+    primary key (user_id)
+);
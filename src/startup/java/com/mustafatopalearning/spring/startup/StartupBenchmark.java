@@ -0,0 +1,261 @@
+package com.mustafatopalearning.spring.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares cold starts of the application as built today with the Spring AOT + CDS variant produced by the
+ * {@code startup} profile. Each variant is started {@code runs} times in a fresh JVM; a run records the time
+ * from process launch to the first {@code 200} from {@code GET /api/posts}, then sends {@code warmup}
+ * requests and records the resident set size, the heap in use after a full GC and the number of loaded
+ * classes. The {@code prod} variant is the same jar with the lean production profile.
+ *
+ * <pre>
+ * ./mvnw -Pstartup -DskipTests verify -Dstartup.args="runs=10 warmup=1000"
+ * </pre>
+ */
+public final class StartupBenchmark {
+    
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String FIRST_RESPONSE = "timeToFirstResponseMillis";
+    private static final String RSS = "rssAfterWarmupMb";
+    private static final String HEAP = "heapUsedAfterGcMb";
+    private static final String CLASSES = "classesLoaded";
+    
+    private final Map<String, String> options = new LinkedHashMap<>(Map.of(
+            "runs", "5",
+            "warmup", "500",
+            "out", "target/startup-result.json",
+            "logs", "target/startup/logs"));
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    private StartupBenchmark(String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Argüman key=value biçiminde olmalı: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        for (String required : List.of("jar", "extracted", "archive")) {
+            if (!options.containsKey(required)) {
+                throw new IllegalArgumentException("Eksik argüman: " + required);
+            }
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark(args).run();
+    }
+    
+    private void run() throws Exception {
+        int runs = Integer.parseInt(options.get("runs"));
+        Path logs = Path.of(options.get("logs"));
+        Files.createDirectories(logs);
+        
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("baseline", List.of("-jar", options.get("jar")));
+        variants.put("prod", List.of("-jar", options.get("jar"), "--spring.profiles.active=prod"));
+        variants.put("cds", List.of("-XX:SharedArchiveFile=" + options.get("archive"),
+                "-jar", options.get("extracted")));
+        variants.put("aot+cds", List.of("-XX:SharedArchiveFile=" + options.get("archive"), "-Dspring.aot.enabled=true",
+                "-jar", options.get("extracted")));
+        
+        // Variants take turns within each round, so drift in machine load does not favour the one measured last
+        Map<String, Map<String, List<Long>>> samples = new LinkedHashMap<>();
+        for (int run = 1; run <= runs; run++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                Path log = logs.resolve(variant.getKey().replace('+', '-') + "-" + run + ".log");
+                Map<String, Long> sample = measure(variant.getValue(), log);
+                Map<String, List<Long>> variantSamples = samples.computeIfAbsent(variant.getKey(),
+                        key -> new LinkedHashMap<>());
+                sample.forEach((metric, value) ->
+                        variantSamples.computeIfAbsent(metric, key -> new ArrayList<>()).add(value));
+                System.out.printf("%-10s #%d: %s%n", variant.getKey(), run, sample);
+            }
+        }
+        
+        Map<String, Object> results = new LinkedHashMap<>();
+        Map<String, Long> baselineMedians = null;
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("command", variant.getValue());
+            Map<String, Long> medians = new LinkedHashMap<>();
+            samples.get(variant.getKey()).forEach((metric, values) -> {
+                result.put(metric, summary(values));
+                medians.put(metric, median(values));
+            });
+            if (baselineMedians == null) {
+                baselineMedians = medians;
+            } else {
+                result.put("startupSpeedup",
+                        round((double) baselineMedians.get(FIRST_RESPONSE) / medians.get(FIRST_RESPONSE)));
+                result.put("rssChangeMb", medians.get(RSS) - baselineMedians.get(RSS));
+                result.put("heapChangeMb", medians.get(HEAP) - baselineMedians.get(HEAP));
+                result.put("classesLoadedChange", medians.get(CLASSES) - baselineMedians.get(CLASSES));
+            }
+            results.put(variant.getKey(), result);
+        }
+        
+        Map<String, Object> config = new LinkedHashMap<>(options);
+        config.put("javaVersion", Runtime.version().toString());
+        config.put("processors", Runtime.getRuntime().availableProcessors());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", config);
+        report.put("variants", results);
+        Path out = Path.of(options.get("out"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        objectMapper.writeValue(out.toFile(), report);
+        printSummary(results);
+        System.out.println("Sonuçlar: " + out.toAbsolutePath());
+    }
+    
+    private Map<String, Long> measure(List<String> launch, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(javaTool("java"));
+        command.addAll(launch);
+        command.add("--server.port=" + port);
+        String baseUrl = "http://localhost:" + port;
+        URI posts = URI.create(baseUrl + "/api/posts");
+        
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            awaitFirstResponse(process, posts, start + STARTUP_TIMEOUT.toNanos(), log);
+            Map<String, Long> sample = new LinkedHashMap<>();
+            sample.put(FIRST_RESPONSE, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            URI users = URI.create(baseUrl + "/api/users");
+            int warmup = Integer.parseInt(options.get("warmup"));
+            for (int i = 0; i < warmup; i++) {
+                get(i % 2 == 0 ? posts : users);
+            }
+            sample.put(RSS, residentSetKb(process.pid()) / 1024);
+            // A full GC first, so the heap figure is live data rather than wherever the young generation happened to be
+            new ProcessBuilder(javaTool("jcmd"), String.valueOf(process.pid()), "GC.run")
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start()
+                    .waitFor(30, TimeUnit.SECONDS);
+            sample.put(HEAP, (long) metric(baseUrl, "jvm.memory.used?tag=area:heap") / (1024 * 1024));
+            sample.put(CLASSES, (long) metric(baseUrl, "jvm.classes.loaded"));
+            return sample;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    private double metric(String baseUrl, String query) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + query))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return objectMapper.readTree(body).path("measurements").path(0).path("value").asDouble(-1);
+    }
+    
+    private void awaitFirstResponse(Process process, URI uri, long deadline, Path log) throws InterruptedException {
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Uygulama başlatılamadı, log: " + log);
+            }
+            try {
+                if (get(uri) == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Uygulama " + STARTUP_TIMEOUT + " içinde yanıt vermedi, log: " + log);
+    }
+    
+    private int get(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+    
+    // VmRSS from /proc (Linux); -1 elsewhere.
+    private static long residentSetKb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(-1L);
+    }
+    
+    private static String javaTool(String name) {
+        return Path.of(System.getProperty("java.home"), "bin", name).toString();
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+    
+    private static Map<String, Object> summary(List<Long> values) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("median", median(values));
+        summary.put("min", values.stream().mapToLong(Long::longValue).min().orElse(0));
+        summary.put("max", values.stream().mapToLong(Long::longValue).max().orElse(0));
+        summary.put("samples", values);
+        return summary;
+    }
+    
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> results) {
+        System.out.printf("%-10s %13s %9s %9s %9s %9s%n", "Varyant", "İlk yanıt ms", "Hızlanma", "RSS MB", "Heap MB",
+                "Sınıf");
+        results.forEach((name, value) -> {
+            Map<String, Object> result = (Map<String, Object>) value;
+            System.out.printf("%-10s %13s %9s %9s %9s %9s%n", name,
+                    ((Map<String, Object>) result.get(FIRST_RESPONSE)).get("median"),
+                    result.getOrDefault("startupSpeedup", "-"),
+                    ((Map<String, Object>) result.get(RSS)).get("median"),
+                    ((Map<String, Object>) result.get(HEAP)).get("median"),
+                    ((Map<String, Object>) result.get(CLASSES)).get("median"));
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.mustafatopalearning.spring;
+
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.UserRequestDTO;
+import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.service.PostService;
+import com.mustafatopalearning.spring.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springdoc.core.properties.SpringDocConfigProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.h2.H2ConsoleProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Own database: the schema comes from db/schema-h2.sql and Hibernate only validates it against the entities.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prod-profile")
+@ActiveProfiles("prod")
+class ProdProfileTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    void prodProfile_ShouldNotConfigureDevOnlySubsystems() {
+        // Then
+        assertFalse(context.containsBean("customOpenAPI"));
+        assertEquals(0, context.getBeanNamesForType(H2ConsoleProperties.class).length);
+        assertEquals(0, context.getBeanNamesForType(SpringDocConfigProperties.class).length);
+        assertEquals("validate", context.getEnvironment().getProperty("spring.jpa.hibernate.ddl-auto"));
+    }
+
+    @Test
+    void prodProfile_ShouldInitializeOnlyPersistenceEagerly() {
+        // Then
+        assertTrue(context.getBeanFactory().getBeanDefinition("cacheController").isLazyInit());
+        assertFalse(context.getBeanFactory().getBeanDefinition("entityManagerFactory").isLazyInit());
+        assertFalse(context.getBeanFactory().getBeanDefinition("userPostStatsReconciler").isLazyInit());
+    }
+
+    @Test
+    void schemaScript_ShouldMatchEntities() {
+        // Given
+        UserRequestDTO userRequest = new UserRequestDTO();
+        userRequest.setEmail("prod.profil@example.com");
+        userRequest.setName("Prod");
+        userRequest.setSurname("Profil");
+        UserResponseDTO user = userService.createUser(userRequest);
+        PostRequestDTO postRequest = new PostRequestDTO();
+        postRequest.setTitle("Başlık");
+        postRequest.setContent("İçerik");
+        postRequest.setUserId(user.getId());
+
+        // When
+        PostResponseDTO post = postService.createPost(postRequest);
+
+        // Then
+        assertEquals(post.getTitle(), postService.getPostById(post.getId()).getTitle());
+        assertEquals(1, userService.getUserStats(user.getId()).getPostCount());
+    }
+}
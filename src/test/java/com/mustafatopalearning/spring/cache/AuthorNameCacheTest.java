@@ -0,0 +1,107 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import com.mustafatopalearning.spring.repository.AuthorName;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorNameCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthorNameCache authorNameCache;
+
+    @BeforeEach
+    void setUp() {
+        authorNameCache = new AuthorNameCache(userRepository, 100);
+    }
+
+    @Test
+    void testWarmUp_LoadsAllAuthorsWithoutPerUserQueries() {
+        // Given
+        when(userRepository.findAuthorNameBatch(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new AuthorName(1L, "Ali Veli"), new AuthorName(2L, "Ayşe Yılmaz")));
+
+        // When
+        authorNameCache.warmUp();
+
+        // Then
+        assertEquals(2, authorNameCache.size());
+        assertEquals("Ayşe Yılmaz", authorNameCache.get(2L));
+        verify(userRepository, never()).findDisplayNameById(any());
+    }
+
+    @Test
+    void testGet_MissLoadsOnce() {
+        // Given
+        when(userRepository.findDisplayNameById(1L)).thenReturn(Optional.of("Ali Veli"));
+
+        // When
+        authorNameCache.get(1L);
+        String name = authorNameCache.get(1L);
+
+        // Then
+        assertEquals("Ali Veli", name);
+        verify(userRepository, times(1)).findDisplayNameById(1L);
+    }
+
+    @Test
+    void testUserEvents_UpdateAndRemoveNames() {
+        // Given
+        authorNameCache.onUserSaved(new UserSavedEvent(1L, "Ali", "Veli", true));
+
+        // When
+        authorNameCache.onUserSaved(new UserSavedEvent(1L, "Ali", "Kaya", false));
+        String renamed = authorNameCache.get(1L);
+        authorNameCache.onUserDeleted(new UserDeletedEvent(1L));
+
+        // Then
+        assertEquals("Ali Kaya", renamed);
+        assertEquals(0, authorNameCache.size());
+    }
+
+    @Test
+    void testGet_DeleteDuringMissIsNotUndone() {
+        // Given: the user is deleted while the miss is still reading the old row
+        when(userRepository.findDisplayNameById(1L)).thenAnswer(invocation -> {
+            authorNameCache.onUserDeleted(new UserDeletedEvent(1L));
+            return Optional.of("Ali Veli");
+        });
+
+        // When
+        authorNameCache.get(1L);
+
+        // Then
+        assertEquals(0, authorNameCache.size());
+    }
+
+    @Test
+    void testWarmUp_StaysWithinMaximumSize() {
+        // Given
+        AuthorNameCache bounded = new AuthorNameCache(userRepository, 2);
+        when(userRepository.findAuthorNameBatch(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new AuthorName(1L, "Ali Veli"), new AuthorName(2L, "Ayşe Yılmaz"), new AuthorName(3L, "Can Demir")));
+
+        // When
+        bounded.warmUp();
+
+        // Then
+        assertTrue(bounded.size() <= 2);
+    }
+}
@@ -0,0 +1,73 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountCacheTest {
+
+    private final CountCache cache = new CountCache(Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testEventsAdjustALoadedCount() {
+        cache.get(CountCache.ALL_POSTS, () -> count(10));
+
+        cache.onPostSaved(new PostSavedEvent(1L, 1L, "Yeni", "İçerik", null, null, true));
+        cache.onPostSaved(new PostSavedEvent(1L, 1L, "Yeni", "İçerik", null, null, false));
+        cache.onPostDeleted(new PostDeletedEvent(2L, 1L));
+        cache.onPostSaved(new PostSavedEvent(3L, 1L, "Yeni", "İçerik", null, null, true));
+
+        assertEquals(11, cache.get(CountCache.ALL_POSTS, () -> count(0)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testWriteDuringLoad_CountIsReadAgain() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> staleRead = CompletableFuture.supplyAsync(() -> cache.get(CountCache.ALL_POSTS, () -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return count(10);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        cache.onPostSaved(new PostSavedEvent(1L, 1L, "Yeni", "İçerik", null, null, true));
+        release.countDown();
+
+        assertEquals(10, staleRead.get(5, TimeUnit.SECONDS));
+        assertEquals(11, cache.get(CountCache.ALL_POSTS, () -> count(11)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testUserDeleted_DropsTheUsersTotalOnly() {
+        cache.get(CountCache.ALL_POSTS, () -> count(10));
+        cache.get(CountCache.postsOfUser(1L), () -> count(0));
+
+        cache.onUserDeleted(new UserDeletedEvent(1L));
+
+        assertEquals(10, cache.get(CountCache.ALL_POSTS, () -> count(0)));
+        assertEquals(0, cache.get(CountCache.postsOfUser(1L), () -> count(0)));
+        assertEquals(3, loads.get());
+    }
+
+    private long count(long value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
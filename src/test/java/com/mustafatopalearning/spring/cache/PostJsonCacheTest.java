@@ -0,0 +1,76 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostJsonCacheTest {
+
+    private PostJsonCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PostJsonCache(new ObjectMapper().findAndRegisterModules(),
+                DataSize.ofKilobytes(64), DataSize.ofKilobytes(1), Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_SerializesOnceWithApiResponseWrapper() {
+        SerializedPost first = cache.get(1L, this::loadPost);
+        SerializedPost second = cache.get(1L, this::loadPost);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        String json = new String(first.getJson(), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"success\":true,\"message\":\"İşlem başarılı\",\"data\":{\"id\":1,"));
+        assertNull(first.getGzip());
+    }
+
+    @Test
+    void testPostSavedAndAuthorChanges_Invalidate() {
+        cache.get(1L, this::loadPost);
+        cache.onPostSaved(new PostSavedEvent(1L, 10L, "Yeni", "Yeni içerik", null, null, false));
+        cache.get(1L, this::loadPost);
+        cache.onUserSaved(new UserSavedEvent(10L, "Yeni", "Ad", true));
+        cache.get(1L, this::loadPost);
+        cache.onUserSaved(new UserSavedEvent(10L, "Yeni", "Ad", false));
+        cache.get(1L, this::loadPost);
+        cache.onUserDeleted(new UserDeletedEvent(10L));
+        cache.get(1L, this::loadPost);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testBoundedByTotalBytes() {
+        String content = "x".repeat(8 * 1024);
+        for (long id = 1; id <= 32; id++) {
+            cache.get(id, postId -> new PostResponseDTO(postId, "Başlık", content, 10L, "Ali Veli",
+                    LocalDateTime.of(2026, 1, 1, 12, 0), LocalDateTime.of(2026, 1, 1, 12, 0)));
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.weightedSize() <= DataSize.ofKilobytes(64).toBytes());
+        assertTrue(cache.stats().getEvictionCount() > 0);
+    }
+
+    private PostResponseDTO loadPost(Long id) {
+        loads.incrementAndGet();
+        return new PostResponseDTO(id, "Başlık", "İçerik", 10L, "Ali Veli", LocalDateTime.of(2026, 1, 1, 12, 0),
+                LocalDateTime.of(2026, 1, 1, 12, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.mustafatopalearning.spring.dto.CacheStatsDTO;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseDtoCacheTest {
+
+    private ResponseDtoCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseDtoCache(100, 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGetPost_LoadsOnceThenHits() {
+        cache.getPost(1L, this::loadPost);
+        cache.getPost(1L, this::loadPost);
+
+        assertEquals(1, loads.get());
+        CacheStatsDTO stats = cache.stats().get(0);
+        assertEquals("posts", stats.getName());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    void testPostSavedAndDeleted_Invalidate() {
+        cache.getPost(1L, this::loadPost);
+        cache.onPostSaved(new PostSavedEvent(1L, 10L, "Yeni", "Yeni içerik", null, null, false));
+        cache.getPost(1L, this::loadPost);
+        cache.onPostDeleted(new PostDeletedEvent(1L, 10L));
+        cache.getPost(1L, this::loadPost);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testUserUpdated_RefreshesAuthorNameOnCachedPosts() {
+        cache.getPost(1L, this::loadPost);
+        cache.getPost(2L, id -> new PostResponseDTO(id, "Başka", "İçerik", 20L, "Diğer Yazar", null, null));
+
+        cache.onUserUpdated(new UserSavedEvent(10L, "Yeni", "Ad", false));
+
+        assertEquals("Yeni Ad", cache.getPost(1L, this::loadPost).getUserName());
+        assertEquals("Diğer Yazar", cache.getPost(2L, this::loadPost).getUserName());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testUserDeleted_DropsUserAndTheirPosts() {
+        cache.getUser(10L, id -> new UserResponseDTO(id, "a@b.com", "Ali", "Veli", LocalDateTime.now(), 0L));
+        cache.getPost(1L, this::loadPost);
+
+        cache.onUserDeleted(new UserDeletedEvent(10L));
+        cache.getPost(1L, this::loadPost);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().get(1).getHitCount());
+    }
+
+    @Test
+    void testGetPost_LoaderErrorDoesNotLeaveTheKeyBlocked() {
+        assertThrows(OutOfMemoryError.class, () -> cache.getPost(1L, id -> {
+            throw new OutOfMemoryError("test");
+        }));
+
+        PostResponseDTO post = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> cache.getPost(1L, this::loadPost));
+
+        assertEquals(1L, post.getId());
+        assertEquals(1, loads.get());
+    }
+
+    private PostResponseDTO loadPost(Long id) {
+        loads.incrementAndGet();
+        return new PostResponseDTO(id, "Başlık", "İçerik", 10L, "Ali Veli", LocalDateTime.now(), LocalDateTime.now());
+    }
+}
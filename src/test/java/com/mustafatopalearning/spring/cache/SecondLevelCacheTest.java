@@ -0,0 +1,143 @@
+package com.mustafatopalearning.spring.cache;
+
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.UserRequestDTO;
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import com.mustafatopalearning.spring.service.PostService;
+import com.mustafatopalearning.spring.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.users.post-stats.reconcile-initial-delay=1d",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User user = new User();
+        user.setEmail("l2@example.com");
+        user.setName("Önbellek");
+        user.setSurname("Test");
+        userId = userRepository.save(user).getId();
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Post post = new Post();
+            post.setTitle("L2 post " + i);
+            post.setContent("L2 içerik " + i);
+            post.setUser(user);
+            posts.add(post);
+        }
+        postRepository.saveAll(posts);
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testUserLookups_ServedFromCacheAfterFirstLoad() {
+        // Given
+        userRepository.findById(userId);
+        statistics.clear();
+
+        // When
+        User user = userRepository.findById(userId).orElseThrow();
+
+        // Then
+        assertEquals("Önbellek", user.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCache.USERS).getHitCount());
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "l2." + SecondLevelCache.USERS)
+                .tag("result", "hit").functionCounter().count() > 0);
+    }
+
+    @Test
+    void testUserUpdate_CachedEntryFollowsTheWrite() {
+        // Given
+        userRepository.findById(userId);
+        UserRequestDTO request = new UserRequestDTO();
+        request.setEmail("l2@example.com");
+        request.setName("Güncel");
+        request.setSurname("Test");
+
+        // When
+        userService.updateUser(userId, request);
+        statistics.clear();
+        User user = userRepository.findById(userId).orElseThrow();
+
+        // Then
+        assertEquals("Güncel", user.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testPostsByUser_QueryCachedUntilPostsChange() {
+        // Given
+        assertEquals(3, postService.getPostsByUserId(userId).size());
+        statistics.clear();
+
+        // When
+        int cachedSize = postService.getPostsByUserId(userId).size();
+
+        // Then
+        assertEquals(3, cachedSize);
+        assertEquals(0, statistics.getPrepareStatementCount(), "İkinci okuma veritabanına gitti");
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle("Yeni post");
+        request.setContent("Yeni içerik");
+        request.setUserId(userId);
+        Long postId = postService.createPost(request).getId();
+        assertEquals(4, postService.getPostsByUserId(userId).size());
+
+        postService.deletePost(postId);
+        assertEquals(3, postService.getPostsByUserId(userId).size());
+    }
+}
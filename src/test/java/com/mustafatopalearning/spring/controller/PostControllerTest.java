@@ -1,20 +1,38 @@
 package com.mustafatopalearning.spring.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mustafatopalearning.spring.cache.PostJsonCache;
+import com.mustafatopalearning.spring.dto.CursorResponse;
+import com.mustafatopalearning.spring.dto.PageableResponse;
 import com.mustafatopalearning.spring.dto.PostRequestDTO;
 import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.PostSummaryDTO;
 import com.mustafatopalearning.spring.service.PostService;
+import com.mustafatopalearning.spring.service.PostWriteBehind;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +43,16 @@ class PostControllerTest {
     @Mock
     private PostService postService;
 
+    @Mock
+    private PostWriteBehind postWriteBehind;
+
+    @Spy
+    private NdjsonStreamWriter ndjsonStreamWriter = new NdjsonStreamWriter(new ObjectMapper().findAndRegisterModules());
+
+    @Spy
+    private PostJsonCache postJsonCache = new PostJsonCache(new ObjectMapper().findAndRegisterModules(),
+            DataSize.ofMegabytes(1), DataSize.ofKilobytes(1), Duration.ofMinutes(1));
+
     @InjectMocks
     private PostController postController;
 
@@ -69,14 +97,50 @@ class PostControllerTest {
         when(postService.getPostById(1L)).thenReturn(postResponseDTO);
 
         // When
-        ResponseEntity<?> response = postController.getPostById(1L);
+        ResponseEntity<byte[]> response = postController.getPostById(1L, null, null);
+        postController.getPostById(1L, null, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertTrue(new String(response.getBody(), StandardCharsets.UTF_8).contains("\"title\":\"Test Post\""));
         verify(postService, times(1)).getPostById(1L);
     }
 
+    @Test
+    void testGetPostById_GzipWhenAccepted() throws IOException {
+        // Given
+        postResponseDTO.setContent("Uzun içerik ".repeat(100));
+        when(postService.getPostById(1L)).thenReturn(postResponseDTO);
+
+        // When
+        ResponseEntity<byte[]> plain = postController.getPostById(1L, null, null);
+        ResponseEntity<byte[]> gzipped = postController.getPostById(1L, null, "br, gzip;q=0.8");
+
+        // Then
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzipped.getBody().length < plain.getBody().length);
+        assertNotEquals(plain.getHeaders().getETag(), gzipped.getHeaders().getETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testGetPostById_NotModifiedSkipsLoad() {
+        // Given
+        when(postService.getPostETag(1L)).thenReturn("\"p1-1-abc\"");
+
+        // When
+        ResponseEntity<?> response = postController.getPostById(1L, "W/\"p1-1-abc\"", null);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"p1-1-abc\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(postService, never()).getPostById(1L);
+    }
+
     @Test
     void testGetPostsByUserId() {
         // Given
@@ -106,6 +170,21 @@ class PostControllerTest {
         verify(postService, times(1)).createPost(any(PostRequestDTO.class));
     }
 
+    @Test
+    void testCreatePost_WriteBehindReturnsAccepted() {
+        // Given
+        when(postWriteBehind.isEnabled()).thenReturn(true);
+        when(postWriteBehind.submit(any(PostRequestDTO.class))).thenReturn(postResponseDTO);
+
+        // When
+        ResponseEntity<?> response = postController.createPost(postRequestDTO);
+
+        // Then
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/api/posts/1", response.getHeaders().getLocation().toString());
+        verify(postService, never()).createPost(any(PostRequestDTO.class));
+    }
+
     @Test
     void testUpdatePost() {
         // Given
@@ -147,5 +226,74 @@ class PostControllerTest {
         assertNotNull(response.getBody());
         verify(postService, times(1)).searchPosts("test");
     }
-}
 
+    @Test
+    void testGetFeed() {
+        // Given
+        CursorResponse<PostResponseDTO> feed = CursorResponse.of(Arrays.asList(postResponseDTO), 10, null);
+        when(postService.getFeed(null, 10)).thenReturn(feed);
+
+        // When
+        ResponseEntity<?> response = postController.getFeed(null, 10);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        verify(postService, times(1)).getFeed(null, 10);
+    }
+
+    @Test
+    void testGetPostSummaries() {
+        // Given
+        PostSummaryDTO summary = new PostSummaryDTO(1L, "Test Post", "Test Content", 1L, "Test User",
+                LocalDateTime.now(), LocalDateTime.now());
+        when(postService.getPostsETag()).thenReturn("\"posts-1\"");
+        when(postService.getPostSummaries(0, 10, "createdAt", "desc", true))
+                .thenReturn(PageableResponse.of(List.of(summary), 0, 10, 1));
+
+        // When
+        ResponseEntity<?> response = postController.getPostSummaries(0, 10, "createdAt", "desc", true, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"posts-1\"", response.getHeaders().getETag());
+        verify(postService, never()).getAllPosts(anyInt(), anyInt(), anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamAllPosts_WritesOneJsonLinePerPost() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<PostResponseDTO> sink = invocation.getArgument(0);
+            sink.accept(postResponseDTO);
+            sink.accept(postResponseDTO);
+            return null;
+        }).when(postService).streamAllPosts(any(Consumer.class));
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = postController.streamAllPosts();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+    }
+
+    @Test
+    void testStreamPostsByUserId_ChecksUserBeforeStreaming() {
+        // Given
+        doNothing().when(postService).ensureUserExists(1L);
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = postController.streamPostsByUserId(1L);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(postService, times(1)).ensureUserExists(1L);
+    }
+}
@@ -1,13 +1,19 @@
 package com.mustafatopalearning.spring.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mustafatopalearning.spring.dto.ApiResponse;
+import com.mustafatopalearning.spring.dto.BatchItemResult;
+import com.mustafatopalearning.spring.dto.BatchResponse;
 import com.mustafatopalearning.spring.dto.UserRequestDTO;
 import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.dto.UserStatsDTO;
 import com.mustafatopalearning.spring.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +31,9 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private NdjsonStreamWriter ndjsonStreamWriter = new NdjsonStreamWriter(new ObjectMapper().findAndRegisterModules());
+
     @InjectMocks
     private UserController userController;
 
@@ -67,7 +76,7 @@ class UserControllerTest {
         when(userService.getUserById(1L)).thenReturn(userResponseDTO);
 
         // When
-        ResponseEntity<?> response = userController.getUserById(1L);
+        ResponseEntity<?> response = userController.getUserById(1L, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -89,6 +98,23 @@ class UserControllerTest {
         verify(userService, times(1)).createUser(any(UserRequestDTO.class));
     }
 
+    @Test
+    void testCreateUsers_PartialFailure() {
+        // Given
+        BatchResponse<UserResponseDTO> result = BatchResponse.of(List.of(
+                BatchItemResult.success(0, userResponseDTO),
+                BatchItemResult.failure(1, "Bu email adresi zaten kullanılıyor: test@example.com")));
+        when(userService.createUsers(anyList())).thenReturn(result);
+
+        // When
+        ResponseEntity<?> response = userController.createUsers(List.of(userRequestDTO, userRequestDTO));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        verify(userService, times(1)).createUsers(anyList());
+    }
+
     @Test
     void testUpdateUser() {
         // Given
@@ -103,17 +129,44 @@ class UserControllerTest {
         verify(userService, times(1)).updateUser(eq(1L), any(UserRequestDTO.class));
     }
 
+    @Test
+    void testGetUserStats() {
+        // Given
+        when(userService.getUserStats(1L)).thenReturn(new UserStatsDTO(1L, 4, LocalDateTime.now()));
+
+        // When
+        ResponseEntity<ApiResponse<UserStatsDTO>> response = userController.getUserStats(1L);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(4, response.getBody().getData().getPostCount());
+    }
+
     @Test
     void testDeleteUser() {
         // Given
         doNothing().when(userService).deleteUser(1L);
 
         // When
-        ResponseEntity<?> response = userController.deleteUser(1L);
+        ResponseEntity<?> response = userController.deleteUser(1L, false);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         verify(userService, times(1)).deleteUser(1L);
     }
+
+    @Test
+    void testDeleteUser_Async_ReturnsAccepted() {
+        // Given
+        doNothing().when(userService).ensureUserExists(1L);
+
+        // When
+        ResponseEntity<?> response = userController.deleteUser(1L, true);
+
+        // Then
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        verify(userService, times(1)).deleteUserInBackground(1L);
+        verify(userService, never()).deleteUser(anyLong());
+    }
 }
 
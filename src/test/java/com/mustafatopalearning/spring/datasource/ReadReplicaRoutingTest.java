@@ -0,0 +1,179 @@
+package com.mustafatopalearning.spring.datasource;
+
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.UserRequestDTO;
+import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import com.mustafatopalearning.spring.service.PostService;
+import com.mustafatopalearning.spring.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two independent in-memory H2 databases stand in for a primary and its replica. Nothing replicates
+// between them, so every row shows which database a read went to.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "app.datasource.replica.url=jdbc:h2:mem:routing-replica",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UserResponseDTO primaryUser;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // The replica gets the primary's schema (as replication would) and one row of its own.
+        List<String> schema = new ArrayList<>();
+        try (Connection connection = primaryDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) {
+                schema.add(script.getString(1));
+            }
+        }
+        try (Connection connection = replicaDataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String ddl : schema) {
+                statement.execute(ddl);
+            }
+            statement.execute("INSERT INTO users (id, email, name, surname, created_at, version) "
+                    + "VALUES (1000, 'replika@example.com', 'Replika', 'Kullanıcı', CURRENT_TIMESTAMP, 0)");
+        }
+
+        UserRequestDTO request = new UserRequestDTO();
+        request.setEmail("birincil@example.com");
+        request.setName("Birincil");
+        request.setSurname("Kullanıcı");
+        primaryUser = userService.createUser(request);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testReadOnlyTransactionsReadFromReplica() {
+        // When
+        List<UserResponseDTO> users = userService.getAllUsers();
+
+        // Then
+        assertEquals(List.of("replika@example.com"), users.stream().map(UserResponseDTO::getEmail).toList());
+    }
+
+    @Test
+    void testWritesAndCacheLoadsUsePrimary() {
+        // When
+        UserResponseDTO user = userService.getUserById(primaryUser.getId());
+
+        // Then
+        assertEquals("birincil@example.com", user.getEmail());
+        assertEquals(1, userRepository.count());
+    }
+
+    // Over HTTP the read-only ETag lookup runs first in the same request; the load after it must still go to the
+    // primary instead of reusing the replica connection for the rest of the request.
+    @Test
+    void testConditionalGetLoadsUserFromPrimary() throws Exception {
+        // Given
+        insertIntoReplica("INSERT INTO users (id, email, name, surname, created_at, version) VALUES ("
+                + primaryUser.getId() + ", 'eski@example.com', 'Eski', 'Kullanıcı', CURRENT_TIMESTAMP, 0)");
+
+        // When & Then
+        mockMvc.perform(get("/api/users/{id}", primaryUser.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"eski\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.email").value("birincil@example.com"));
+    }
+
+    @Test
+    void testConditionalGetLoadsPostFromPrimary() throws Exception {
+        // Given
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle("Birincil başlık");
+        request.setContent("İçerik");
+        request.setUserId(primaryUser.getId());
+        PostResponseDTO post = postService.createPost(request);
+        insertIntoReplica("INSERT INTO users (id, email, name, surname, created_at, version) VALUES ("
+                + primaryUser.getId() + ", 'eski@example.com', 'Eski', 'Kullanıcı', CURRENT_TIMESTAMP, 0)");
+        insertIntoReplica("INSERT INTO posts (id, title, content, excerpt, user_id, created_at, updated_at) VALUES ("
+                + post.getId() + ", 'Eski başlık', 'İçerik', 'İçerik', " + primaryUser.getId()
+                + ", CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+
+        // When & Then
+        mockMvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"eski\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("Birincil başlık"));
+    }
+
+    @Test
+    @DirtiesContext
+    void testFallsBackToPrimaryWhenReplicaIsUnavailable() {
+        // Given
+        replicaDataSource.close();
+
+        // When
+        List<UserResponseDTO> users = userService.getAllUsers();
+
+        // Then
+        assertEquals(List.of("birincil@example.com"), users.stream().map(UserResponseDTO::getEmail).toList());
+        assertEquals(1.0, meterRegistry.get("datasource.replica.fallbacks").functionCounter().count());
+    }
+
+    private void insertIntoReplica(String sql) throws SQLException {
+        try (Connection connection = replicaDataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mustafatopalearning.spring.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostTest {
+
+    @Test
+    void testSetContent_KeepsShortContentAsExcerpt() {
+        // Given
+        Post post = new Post();
+
+        // When
+        post.setContent("  Kısa\n\niçerik  ");
+
+        // Then
+        assertEquals("Kısa içerik", post.getExcerpt());
+    }
+
+    @Test
+    void testExcerptOf_CutsLongContentAtWordBoundary() {
+        // Given
+        String content = "kelime ".repeat(100);
+
+        // When
+        String excerpt = Post.excerptOf(content);
+
+        // Then
+        assertTrue(excerpt.length() <= Post.EXCERPT_LENGTH + 1);
+        assertTrue(excerpt.endsWith("kelime…"));
+    }
+}
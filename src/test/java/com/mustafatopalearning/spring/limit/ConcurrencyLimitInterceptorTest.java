@@ -0,0 +1,95 @@
+package com.mustafatopalearning.spring.limit;
+
+import com.mustafatopalearning.spring.dto.ConcurrencyLimitStatsDTO;
+import com.mustafatopalearning.spring.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitInterceptor interceptor;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ConcurrencyLimitInterceptor(true, 1, 4, 2, 8, 2, 8, meterRegistry);
+    }
+
+    @Test
+    void testRoutesAreGroupedByCost() {
+        assertEquals(ConcurrencyLimitInterceptor.SEARCH,
+                interceptor.limiterFor(request("GET", "/api/posts/search/page")).getName());
+        assertEquals(ConcurrencyLimitInterceptor.LOOKUP,
+                interceptor.limiterFor(request("GET", "/api/posts/{id}")).getName());
+        assertEquals(ConcurrencyLimitInterceptor.LOOKUP,
+                interceptor.limiterFor(request("GET", "/api/users/{id}/stats")).getName());
+        assertEquals(ConcurrencyLimitInterceptor.DEFAULT,
+                interceptor.limiterFor(request("PUT", "/api/posts/{id}")).getName());
+        assertEquals(ConcurrencyLimitInterceptor.DEFAULT,
+                interceptor.limiterFor(request("GET", "/api/posts/page")).getName());
+    }
+
+    @Test
+    void testRequestOverLimit_RejectedWithoutBlockingOtherGroups() {
+        // Given
+        MockHttpServletRequest first = request("GET", "/api/posts/search");
+        interceptor.preHandle(first, response, null);
+
+        // When & Then
+        assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(request("GET", "/api/posts/search"), response, null));
+        assertTrue(interceptor.preHandle(request("GET", "/api/posts/{id}"), response, null));
+
+        ConcurrencyLimitStatsDTO search = interceptor.stats().get(0);
+        assertEquals(1, search.getInFlight());
+        assertEquals(1, search.getRejected());
+        assertEquals(1.0, meterRegistry.get("http.server.limit.rejected").tag("group", "search")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testCompletedRequest_FreesItsSlot() {
+        // Given
+        MockHttpServletRequest first = request("GET", "/api/posts/search");
+        interceptor.preHandle(first, response, null);
+
+        // When
+        interceptor.afterCompletion(first, response, null, null);
+        interceptor.afterCompletion(first, response, null, null);
+
+        // Then
+        assertEquals(0, interceptor.stats().get(0).getInFlight());
+        assertTrue(interceptor.preHandle(request("GET", "/api/posts/search"), response, null));
+    }
+
+    @Test
+    void testStreamedResponse_ReleasedWhenAsyncHandlingStarts() {
+        // Given
+        MockHttpServletRequest stream = request("GET", "/api/posts/search");
+        interceptor.preHandle(stream, response, null);
+
+        // When
+        interceptor.afterConcurrentHandlingStarted(stream, response, null);
+        stream.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(stream, response, null);
+        interceptor.afterCompletion(stream, response, null, null);
+
+        // Then
+        assertEquals(0, interceptor.stats().get(0).getInFlight());
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
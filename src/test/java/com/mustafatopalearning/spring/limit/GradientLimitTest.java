@@ -0,0 +1,113 @@
+package com.mustafatopalearning.spring.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void testSteadyLatency_GrowsUpToMaxLimit() {
+        // Given
+        GradientLimit limit = new GradientLimit(10, 1, 50);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(FAST, limit.getLimit());
+        }
+
+        // Then
+        assertEquals(50, limit.getLimit());
+    }
+
+    @Test
+    void testRisingLatency_ShrinksTheLimit() {
+        // Given
+        GradientLimit limit = new GradientLimit(100, 1, 100);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST, limit.getLimit());
+        }
+
+        // When
+        for (int i = 0; i < 30; i++) {
+            limit.onSample(SLOW, limit.getLimit());
+        }
+
+        // Then
+        assertTrue(limit.getLimit() < 30, "Sınır düşmedi: " + limit.getLimit());
+    }
+
+    @Test
+    void testFewRequestsInFlight_LimitUnchanged() {
+        // Given
+        GradientLimit limit = new GradientLimit(20, 1, 100);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(i % 2 == 0 ? FAST : SLOW, 2);
+        }
+
+        // Then
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void testConcurrentSamples_AllApplied() throws InterruptedException {
+        // Given
+        int threads = 8;
+        int samplesPerThread = 20_000;
+        GradientLimit expected = new GradientLimit(10, 1, 1_000_000);
+        for (int i = 0; i < threads * samplesPerThread; i++) {
+            expected.onSample(FAST, Integer.MAX_VALUE);
+        }
+        GradientLimit limit = new GradientLimit(10, 1, 1_000_000);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> samplers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            samplers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < samplesPerThread; i++) {
+                    limit.onSample(FAST, Integer.MAX_VALUE);
+                }
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Thread sampler : samplers) {
+            sampler.join();
+        }
+
+        // Then
+        assertEquals(expected.getLimit(), limit.getLimit());
+        assertEquals(expected.getLongRttNanos(), limit.getLongRttNanos());
+    }
+
+    @Test
+    void testNeverDropsBelowMinLimit() {
+        // Given
+        GradientLimit limit = new GradientLimit(10, 4, 100);
+        limit.onSample(FAST, 10);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(SLOW * (i + 1), limit.getLimit());
+        }
+
+        // Then
+        assertEquals(4, limit.getLimit());
+    }
+}
@@ -0,0 +1,91 @@
+package com.mustafatopalearning.spring.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DroppingAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger delivered = new AtomicInteger();
+
+    @Test
+    void testDropsAndCountsInfoEventsWhenQueueIsFullInsteadOfBlocking() throws Exception {
+        // Given
+        DroppingAsyncAppender appender = stalledAppender(4);
+        Logger logger = context.getLogger("test");
+        logger.addAppender(appender);
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            logger.info("olay {}", i);
+        }
+        logger.warn("uyarı");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+        appender.stop();
+
+        // Then
+        assertTrue(appender.getDiscardedCount() >= 200 - 32, "atılan: " + appender.getDiscardedCount());
+        assertTrue(elapsedMillis < 5_000, "log çağrısı bloklandı: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testCountsWarnEventsDroppedByAFullQueue() {
+        // Given
+        DroppingAsyncAppender appender = stalledAppender(0);
+        Logger logger = context.getLogger("test");
+        logger.addAppender(appender);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            logger.warn("uyarı {}", i);
+        }
+        release.countDown();
+        appender.stop();
+
+        // Then
+        // Every event is either delivered or counted; a slot freed between the check and the offer
+        // may count one delivered event as well.
+        long discarded = appender.getDiscardedCount();
+        assertTrue(discarded >= 100 - 16 - 16, "atılan: " + discarded);
+        assertTrue(delivered.get() + discarded >= 100 && delivered.get() + discarded <= 101,
+                "teslim edilen: " + delivered.get() + ", atılan: " + discarded);
+    }
+
+    private DroppingAsyncAppender stalledAppender(int discardingThreshold) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AppenderBase<ILoggingEvent> stalled = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                delivered.incrementAndGet();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stalled.setContext(context);
+        stalled.start();
+        DroppingAsyncAppender appender = new DroppingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(16);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setNeverBlock(true);
+        appender.addAppender(stalled);
+        appender.start();
+        return appender;
+    }
+}
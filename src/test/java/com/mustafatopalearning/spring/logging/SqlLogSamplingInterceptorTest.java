@@ -0,0 +1,90 @@
+package com.mustafatopalearning.spring.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlLogSamplingInterceptorTest {
+
+    @AfterEach
+    void tearDown() {
+        SqlLogGate.close();
+    }
+
+    @Test
+    void testGateDeniesSqlAndBindLoggersUnlessOpen() {
+        // Given
+        LoggerContext context = new LoggerContext();
+        SqlLogGate gate = new SqlLogGate();
+
+        // When
+        FilterReply sqlClosed = gate.decide(null, context.getLogger("org.hibernate.SQL"), Level.DEBUG, "select", null, null);
+        FilterReply bindClosed = gate.decide(null, context.getLogger("org.hibernate.orm.jdbc.bind"), Level.TRACE, "bind", null, null);
+        FilterReply slowClosed = gate.decide(null, context.getLogger("org.hibernate.SQL_SLOW"), Level.INFO, "slow", null, null);
+        SqlLogGate.open();
+        FilterReply sqlOpen = gate.decide(null, context.getLogger("org.hibernate.SQL"), Level.DEBUG, "select", null, null);
+
+        // Then
+        assertEquals(FilterReply.DENY, sqlClosed);
+        assertEquals(FilterReply.DENY, bindClosed);
+        assertEquals(FilterReply.NEUTRAL, slowClosed);
+        assertEquals(FilterReply.NEUTRAL, sqlOpen);
+    }
+
+    @Test
+    void testSlowRequestOpensGateForNextRequestOnSameRoute() {
+        // Given
+        SqlLogSamplingInterceptor interceptor = new SqlLogSamplingInterceptor(0, Duration.ZERO);
+        MockHttpServletRequest slow = request("/api/posts/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(slow, response, null);
+        boolean openDuringSlow = SqlLogGate.isOpen();
+        interceptor.afterCompletion(slow, response, null, null);
+        boolean armed = interceptor.isArmed("GET /api/posts/{id}");
+        MockHttpServletRequest next = request("/api/posts/2");
+        interceptor.preHandle(next, response, null);
+        boolean openDuringNext = SqlLogGate.isOpen();
+        interceptor.afterCompletion(next, response, null, null);
+
+        // Then
+        assertFalse(openDuringSlow);
+        assertTrue(armed);
+        assertTrue(openDuringNext);
+        assertFalse(SqlLogGate.isOpen());
+    }
+
+    @Test
+    void testSampledRequestOpensGateAndFastRequestDoesNotArmRoute() {
+        // Given
+        SqlLogSamplingInterceptor interceptor = new SqlLogSamplingInterceptor(1.0, Duration.ofMinutes(1));
+        MockHttpServletRequest request = request("/api/posts/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(request, response, null);
+        boolean open = SqlLogGate.isOpen();
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Then
+        assertTrue(open);
+        assertFalse(SqlLogGate.isOpen());
+        assertFalse(interceptor.isArmed("GET /api/posts/{id}"));
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/posts/{id}");
+        return request;
+    }
+}
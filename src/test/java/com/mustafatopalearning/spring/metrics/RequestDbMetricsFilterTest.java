@@ -0,0 +1,110 @@
+package com.mustafatopalearning.spring.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDbMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestDbMetricsFilter filter;
+    private DbTimeSessionListener sessionListener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestDbMetricsFilter(meterRegistry);
+        sessionListener = new DbTimeSessionListener();
+    }
+
+    @Test
+    void testRecordsStatementsAndDbTimePerEndpoint() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/posts/{id}");
+            sessionListener.jdbcExecuteStatementStart();
+            sessionListener.jdbcExecuteStatementEnd();
+            sessionListener.jdbcExecuteBatchStart();
+            sessionListener.jdbcExecuteBatchEnd();
+        });
+
+        // Then
+        DistributionSummary statements = meterRegistry.get("http.server.db.statements")
+                .tag("uri", "/api/posts/{id}")
+                .tag("outcome", "SUCCESS")
+                .summary();
+        Timer dbTime = meterRegistry.get("http.server.db.time").tag("uri", "/api/posts/{id}").timer();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+        assertEquals(1, dbTime.count());
+        assertTrue(dbTime.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testTagsClientErrorsAndIgnoresStatementsOutsideRequests() throws Exception {
+        // Given
+        sessionListener.jdbcExecuteStatementStart();
+        sessionListener.jdbcExecuteStatementEnd();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/99");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+            ((MockHttpServletResponse) res).setStatus(404);
+        });
+
+        // Then
+        DistributionSummary statements = meterRegistry.get("http.server.db.statements")
+                .tag("status", "404")
+                .tag("outcome", "CLIENT_ERROR")
+                .summary();
+        assertEquals(0.0, statements.totalAmount());
+    }
+
+    @Test
+    void testRepeatedRequestsRecordIntoTheSameMeters() throws Exception {
+        // When
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/posts/" + i), new MockHttpServletResponse(),
+                    (req, res) -> req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/posts/{id}"));
+        }
+
+        // Then
+        assertEquals(1, meterRegistry.get("http.server.db.statements").summaries().size());
+        assertEquals(1, meterRegistry.get("http.server.db.time").timers().size());
+        assertEquals(2, meterRegistry.get("http.server.db.time").tag("uri", "/api/posts/{id}").timer().count());
+    }
+
+    @Test
+    void testUnmatchedRoutesAreTaggedLikeHttpServerRequests() throws Exception {
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/nope"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(404));
+        filter.doFilter(new MockHttpServletRequest("GET", "/old"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(301));
+        filter.doFilter(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse(),
+                (req, res) -> req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ""));
+        filter.doFilter(new MockHttpServletRequest("BREW", "/pot"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(500));
+
+        // Then
+        assertEquals(1, meterRegistry.get("http.server.db.time").tag("uri", "NOT_FOUND").timer().count());
+        assertEquals(1, meterRegistry.get("http.server.db.time").tag("uri", "REDIRECTION").timer().count());
+        assertEquals(1, meterRegistry.get("http.server.db.time").tag("uri", "root").timer().count());
+        assertEquals(1, meterRegistry.get("http.server.db.time").tag("uri", "UNKNOWN").tag("method", "UNKNOWN").timer().count());
+    }
+}
@@ -0,0 +1,276 @@
+package com.mustafatopalearning.spring.repository;
+
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Calls every query method declared on the repositories, captures the SQL Hibernate sends and runs
+// EXPLAIN on it in H2. A plan that reads a table with tableScan fails the test unless the method is
+// listed in INTENTIONAL_SCANS, so a new query (or a dropped index) cannot silently scan posts or users.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.mustafatopalearning.spring.repository.QueryPlanTest$SqlCapture"
+})
+class QueryPlanTest {
+
+    private static final int USERS = 50;
+    private static final int POSTS_PER_USER = 40;
+
+    // Queries that read every row by design: full exports and substring search, which no B-tree index can serve.
+    private static final Map<String, String> INTENTIONAL_SCANS = Map.of(
+            "PostRepository.findAll", "tüm postları okur",
+            "PostRepository.streamAll", "tüm postları akış olarak okur",
+            "UserRepository.streamAll", "tüm kullanıcıları akış olarak okur",
+            "PostRepository.searchPosts", "LIKE '%...%' araması",
+            "PostRepository.searchPostsWithPagination", "LIKE '%...%' araması",
+            "PostRepository.searchPostsSlice", "LIKE '%...%' araması",
+            "PostRepository.streamSearch", "LIKE '%...%' araması",
+            "PostRepository.searchSummarySlice", "LIKE '%...%' araması",
+            "PostRepository.searchSummaries", "LIKE '%...%' araması"
+    );
+
+    // Access paths the entity @Index definitions exist for; the plan must name that index.
+    private static final Map<String, String> EXPECTED_INDEXES = Map.of(
+            "PostRepository.findPostSlice", "IDX_POSTS_CREATED",
+            "PostRepository.findSummarySlice", "IDX_POSTS_CREATED",
+            "PostRepository.findFeed", "IDX_POSTS_CREATED",
+            "PostRepository.findFeedAfter", "IDX_POSTS_CREATED",
+            "PostRepository.findFeedByUserIdAfter", "IDX_POSTS_USER_CREATED",
+            "UserRepository.findByEmail", "IDX_USERS_EMAIL",
+            "UserRepository.existsByEmail", "IDX_USERS_EMAIL",
+            "UserRepository.findExistingEmails", "IDX_USERS_EMAIL"
+    );
+
+    // Matches "/* PUBLIC.POSTS.tableScan */" as well as a whole-index walk ("/* PUBLIC.IDX */" with no
+    // condition) that only filters rows in a WHERE clause.
+    private static final Pattern UNCONDITIONED_INDEX = Pattern.compile("/\\* PUBLIC\\.[\\w.]+ \\*/");
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        List<User> users = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setEmail("plan" + u + "@example.com");
+            user.setName("Plan" + u);
+            user.setSurname("Test");
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        List<Post> posts = new ArrayList<>();
+        for (User user : users) {
+            for (int p = 0; p < POSTS_PER_USER; p++) {
+                Post post = new Post();
+                post.setTitle("Plan post " + p);
+                post.setContent("Plan content " + p);
+                post.setUser(user);
+                posts.add(post);
+            }
+        }
+        postRepository.saveAll(posts);
+
+        // Gives the H2 optimizer real row counts and selectivity instead of empty-table estimates.
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testRepositoryQueriesUseIndexes() throws Exception {
+        List<String> failures = new ArrayList<>();
+        int explained = 0;
+        for (Class<?> repository : List.of(PostRepository.class, UserRepository.class)) {
+            Object bean = repository == PostRepository.class ? postRepository : userRepository;
+            List<Method> methods = Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                    .sorted(Comparator.comparing(Method::toGenericString))
+                    .toList();
+            for (Method method : methods) {
+                String name = repository.getSimpleName() + "." + method.getName();
+                List<String> statements = capture(bean, method);
+                assertFalse(statements.isEmpty(), name + " hiçbir SQL ifadesi çalıştırmadı");
+                for (String sql : statements) {
+                    String plan = explain(sql);
+                    explained++;
+                    String expectedIndex = EXPECTED_INDEXES.get(name);
+                    if (isScan(plan) && !INTENTIONAL_SCANS.containsKey(name)
+                            || expectedIndex != null && !plan.contains("PUBLIC." + expectedIndex)) {
+                        failures.add(name + "\n  SQL:  " + sql + "\n  Plan: " + plan.replaceAll("\\s+", " "));
+                    }
+                }
+            }
+        }
+
+        assertTrue(explained > 0);
+        assertTrue(failures.isEmpty(), "Tablo taraması yapan sorgular:\n" + String.join("\n", failures));
+    }
+
+    @Test
+    void testIntentionalScansStillExist() {
+        // Keeps the allow-list honest: a renamed or removed method must also leave INTENTIONAL_SCANS.
+        for (String name : INTENTIONAL_SCANS.keySet()) {
+            String[] parts = name.split("\\.");
+            Class<?> repository = parts[0].equals("PostRepository") ? PostRepository.class : UserRepository.class;
+            assertTrue(Arrays.stream(repository.getDeclaredMethods()).anyMatch(m -> m.getName().equals(parts[1])),
+                    name + " artık yok");
+        }
+    }
+
+    private static boolean isScan(String plan) {
+        return plan.contains(".tableScan")
+                || UNCONDITIONED_INDEX.matcher(plan).find() && plan.contains("WHERE");
+    }
+
+    private List<String> capture(Object bean, Method method) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            SqlCapture.STATEMENTS.clear();
+            try {
+                Object result = method.invoke(bean, arguments(method));
+                if (result instanceof Stream<?> stream) {
+                    try (stream) {
+                        stream.forEach(row -> { });
+                    }
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(method + " çağrılamadı", e);
+            }
+            status.setRollbackOnly();
+            return List.copyOf(SqlCapture.STATEMENTS);
+        });
+    }
+
+    private Object[] arguments(Method method) {
+        Type[] types = method.getGenericParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = argument(method, types[i]);
+        }
+        return arguments;
+    }
+
+    private Object argument(Method method, Type type) {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == String.class) {
+            return "plan";
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == Pageable.class) {
+            // Explicit ORDER BY queries get an unsorted page, like their callers pass; the rest use the API defaults.
+            Query query = method.getAnnotation(Query.class);
+            if (query != null && query.value().toUpperCase().contains("ORDER BY")) {
+                return PageRequest.ofSize(10);
+            }
+            Sort sort = method.getDeclaringClass() == PostRepository.class
+                    ? Sort.by("createdAt").descending()
+                    : Sort.by("id").ascending();
+            return PageRequest.of(1, 10, sort);
+        }
+        if (type instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            Type element = parameterized.getActualTypeArguments()[0];
+            return element == String.class ? List.of("plan0@example.com", "plan1@example.com") : List.of(1L, 2L);
+        }
+        throw new IllegalArgumentException(method + " için örnek parametre yok: " + type);
+    }
+
+    // Parameters are bound with typed sample values: H2 folds a NULL comparison to FALSE and would hide the plan.
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            ParameterMetaData metaData = statement.getParameterMetaData();
+            for (int i = 1; i <= metaData.getParameterCount(); i++) {
+                statement.setObject(i, sampleValue(metaData.getParameterType(i)));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private static Object sampleValue(int sqlType) {
+        return switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> 1;
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> LocalDateTime.now();
+            default -> "plan";
+        };
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().toLowerCase().startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.mustafatopalearning.spring.search;
+
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.exception.BadRequestException;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchIndexTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(postRepository.findIndexBatch(anyLong(), any(Pageable.class))).thenReturn(Arrays.asList(
+                post(1L, 10L, "Spring Boot ile REST", "Spring Boot ile hızlı bir REST API geliştirme", 3),
+                post(2L, 20L, "Java notları", "Spring çerçevesine kısa bir giriş", 1),
+                post(3L, 20L, "IŞIK ve gölge", "Fotoğrafçılıkta ışık kullanımı", 2)));
+        postSearchIndex.rebuild();
+    }
+
+    @Test
+    void testTokenize_TurkishFolding() {
+        assertEquals(List.of("isik", "istanbul", "cagri", "sogus"), TextAnalyzer.tokenize("IŞIK İstanbul Çağrı söğüş"));
+        assertEquals(List.of("spring", "boot", "3"), TextAnalyzer.tokenize("Spring-Boot 3!"));
+    }
+
+    @Test
+    void testRebuild_MarksIndexReady() {
+        assertTrue(postSearchIndex.isReady());
+        assertEquals(3, postSearchIndex.size());
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesFirst() {
+        SearchResult result = postSearchIndex.search("spring", 0, 10);
+
+        assertEquals(2, result.getTotalHits());
+        assertEquals(List.of(1L, 2L), result.getPostIds());
+    }
+
+    @Test
+    void testSearch_IgnoresCaseAndDiacritics() {
+        assertEquals(List.of(3L), postSearchIndex.search("isik", 0, 10).getPostIds());
+        assertEquals(List.of(3L), postSearchIndex.search("Işık", 0, 10).getPostIds());
+    }
+
+    @Test
+    void testSearch_MatchesPrefixes() {
+        assertEquals(List.of(3L), postSearchIndex.search("fotoğraf", 0, 10).getPostIds());
+    }
+
+    @Test
+    void testSearch_RequiresEveryTerm() {
+        SearchResult result = postSearchIndex.search("spring boot", 0, 10);
+
+        assertEquals(1, result.getTotalHits());
+        assertEquals(List.of(1L), result.getPostIds());
+        assertEquals(List.of(1L), postSearchIndex.search("rest spring", 0, 10).getPostIds());
+        assertEquals(0, postSearchIndex.search("spring kotlin", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void testSearch_DoesNotMatchInsideWords() {
+        assertEquals(0, postSearchIndex.search("oot", 0, 10).getTotalHits());
+        assertEquals(0, postSearchIndex.search("rafçı", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void testSearch_BroadPrefixKeepsFrequentTermsAndFlagsApproximateTotal() {
+        for (long id = 100; id < 170; id++) {
+            postSearchIndex.index(post(id, 30L, "Terim", "kelime" + id, 0));
+        }
+        for (long id = 200; id < 203; id++) {
+            postSearchIndex.index(post(id, 30L, "Ortak", "kelimeortak", 0));
+        }
+
+        SearchResult result = postSearchIndex.search("kelime", 0, 100);
+
+        assertTrue(result.isApproximate());
+        assertEquals(66, result.getTotalHits());
+        assertTrue(result.getPostIds().containsAll(List.of(200L, 201L, 202L)));
+        assertFalse(postSearchIndex.search("kelimeortak", 0, 10).isApproximate());
+        assertFalse(postSearchIndex.search("spring", 0, 10).isApproximate());
+    }
+
+    @Test
+    void testSearch_Pagination() {
+        SearchResult result = postSearchIndex.search("spring", 1, 1);
+
+        assertEquals(2, result.getTotalHits());
+        assertEquals(List.of(2L), result.getPostIds());
+    }
+
+    @Test
+    void testSearch_SortsByColumnInsideTheIndex() {
+        postSearchIndex.index(post(4L, 10L, "Kotlin", "Kotlin ile Spring uygulaması", 2));
+
+        assertEquals(List.of(1L, 4L, 2L),
+                postSearchIndex.search("spring", Sort.by("createdAt").descending(), 0, 10).getPostIds());
+        assertEquals(List.of(2L, 4L), postSearchIndex.search("spring", Sort.by("createdAt"), 0, 2).getPostIds());
+        assertEquals(List.of(4L, 1L), postSearchIndex.search("spring", Sort.by("title"), 1, 2).getPostIds());
+        assertEquals(3, postSearchIndex.search("spring", Sort.by("title"), 1, 2).getTotalHits());
+    }
+
+    @Test
+    void testSearch_UnknownSortColumnIsRejected() {
+        assertThrows(BadRequestException.class,
+                () -> postSearchIndex.search("spring", Sort.by("content"), 0, 10));
+    }
+
+    @Test
+    void testIndexAndRemove() {
+        postSearchIndex.index(post(4L, 10L, "Kotlin", "Kotlin ile Spring uygulaması", 4));
+        assertEquals(3, postSearchIndex.search("spring", 0, 10).getTotalHits());
+
+        postSearchIndex.index(post(1L, 10L, "Güncellendi", "Artık başka bir konu", 3));
+        assertEquals(List.of(4L, 2L), postSearchIndex.search("spring", 0, 10).getPostIds());
+
+        postSearchIndex.remove(4L);
+        assertEquals(List.of(2L), postSearchIndex.search("spring", 0, 10).getPostIds());
+    }
+
+    @Test
+    void testUserDeleted_RemovesAuthorPosts() {
+        postSearchIndex.onUserDeleted(new UserDeletedEvent(20L));
+
+        assertEquals(1, postSearchIndex.size());
+        assertEquals(List.of(1L), postSearchIndex.search("spring", 0, 10).getPostIds());
+        assertEquals(0, postSearchIndex.search("isik", 0, 10).getTotalHits());
+    }
+
+    private static IndexedPost post(Long id, Long userId, String title, String content, int day) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0).plusDays(day);
+        return new IndexedPost(id, userId, title, content, createdAt, createdAt);
+    }
+}
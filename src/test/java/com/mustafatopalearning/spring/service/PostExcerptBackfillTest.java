@@ -0,0 +1,75 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.UserRequestDTO;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PostExcerptBackfillTest {
+
+    @Autowired
+    private PostExcerptBackfill postExcerptBackfill;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPostStatsRepository userPostStatsRepository;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        userPostStatsRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testBackfill_FillsMissingExcerptsWithoutTouchingUpdatedAt() {
+        // Given
+        UserRequestDTO userRequest = new UserRequestDTO();
+        userRequest.setEmail("ozet@example.com");
+        userRequest.setName("Özet");
+        userRequest.setSurname("Test");
+        Long userId = userService.createUser(userRequest).getId();
+        PostRequestDTO postRequest = new PostRequestDTO();
+        postRequest.setTitle("Eski post");
+        postRequest.setContent("  Sütun   eklenmeden önce yazılmış   içerik ");
+        postRequest.setUserId(userId);
+        Long postId = postService.createPost(postRequest).getId();
+        jdbcTemplate.update("UPDATE posts SET excerpt = NULL WHERE id = ?", postId);
+        Timestamp updatedAt = jdbcTemplate.queryForObject("SELECT updated_at FROM posts WHERE id = ?", Timestamp.class, postId);
+
+        // When
+        int filled = postExcerptBackfill.backfill();
+
+        // Then
+        assertEquals(1, filled);
+        assertEquals("Sütun eklenmeden önce yazılmış içerik",
+                jdbcTemplate.queryForObject("SELECT excerpt FROM posts WHERE id = ?", String.class, postId));
+        assertEquals(updatedAt, jdbcTemplate.queryForObject("SELECT updated_at FROM posts WHERE id = ?", Timestamp.class, postId));
+        assertEquals(0, postExcerptBackfill.backfill());
+    }
+}
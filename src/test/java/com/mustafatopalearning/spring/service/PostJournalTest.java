@@ -0,0 +1,91 @@
+package com.mustafatopalearning.spring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testEntriesSurviveReopenAndTornLastLineIsSkipped() throws Exception {
+        // Given
+        Path path = directory.resolve("posts.journal");
+        try (PostJournal journal = new PostJournal(path, objectMapper)) {
+            journal.append(post(1L));
+            journal.append(post(2L));
+        }
+        Files.writeString(path, "{\"id\":3,\"userId\":1,\"tit", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // When
+        List<QueuedPost> posts;
+        try (PostJournal journal = new PostJournal(path, objectMapper)) {
+            posts = journal.readAll();
+        }
+
+        // Then
+        assertEquals(List.of(1L, 2L), posts.stream().map(QueuedPost::getId).toList());
+        assertEquals("Başlık 1", posts.get(0).getTitle());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), posts.get(0).getCreatedAt());
+    }
+
+    @Test
+    void testTruncatesOnlyWhenEveryEntryIsResolved() throws Exception {
+        // Given
+        Path path = directory.resolve("posts.journal");
+        try (PostJournal journal = new PostJournal(path, objectMapper)) {
+            journal.append(post(1L));
+            journal.append(post(2L));
+
+            // When
+            journal.markResolved(1);
+            boolean truncatedEarly = journal.truncateIfResolved();
+            long sizeBefore = Files.size(path);
+            journal.markResolved(1);
+            boolean truncated = journal.truncateIfResolved();
+
+            // Then
+            assertFalse(truncatedEarly);
+            assertTrue(sizeBefore > 0);
+            assertTrue(truncated);
+            assertEquals(0, Files.size(path));
+        }
+    }
+
+    @Test
+    void testReplaceLeavesExactlyTheGivenEntries() throws Exception {
+        // Given
+        Path path = directory.resolve("posts.journal.failed");
+        try (PostJournal journal = new PostJournal(path, objectMapper)) {
+            journal.append(post(1L));
+            journal.append(post(2L));
+            journal.append(post(3L));
+        }
+
+        // When
+        PostJournal.replace(path, List.of(post(2L)), objectMapper);
+
+        // Then
+        try (PostJournal journal = new PostJournal(path, objectMapper)) {
+            assertEquals(List.of(2L), journal.readAll().stream().map(QueuedPost::getId).toList());
+        }
+        assertFalse(Files.exists(directory.resolve("posts.journal.failed.tmp")));
+    }
+
+    private static QueuedPost post(Long id) {
+        return new QueuedPost(id, 1L, "Başlık " + id, "İçerik " + id, LocalDateTime.of(2025, 1, 1, 12, 0), 0);
+    }
+}
@@ -0,0 +1,260 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.cache.AuthorNameCache;
+import com.mustafatopalearning.spring.cache.CountCache;
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.PostSummaryDTO;
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import com.mustafatopalearning.spring.search.PostSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.users.post-stats.reconcile-initial-delay=1d",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class PostServiceQueryCountTest {
+
+    private static final int USERS = 3;
+    private static final int POSTS_PER_USER = 10;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPostStatsRepository userPostStatsRepository;
+
+    @Autowired
+    private UserPostStatsReconciler userPostStatsReconciler;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private AuthorNameCache authorNameCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Post> posts = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setEmail("author" + u + "@example.com");
+            user.setName("Author" + u);
+            user.setSurname("Test");
+            user = userRepository.save(user);
+            userId = user.getId();
+
+            for (int p = 0; p < POSTS_PER_USER; p++) {
+                Post post = new Post();
+                post.setTitle("Spring post " + u + "-" + p);
+                post.setContent("Spring content for post " + u + "-" + p);
+                post.setUser(user);
+                posts.add(post);
+            }
+        }
+        postRepository.saveAll(posts);
+        userPostStatsReconciler.reconcile();
+        postSearchIndex.rebuild();
+        authorNameCache.warmUp();
+        countCache.invalidateAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        userPostStatsRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testGetAllPosts_SingleStatement() {
+        assertEquals(USERS * POSTS_PER_USER, postService.getAllPosts().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testGetAllPosts_AuthorNamesFromCache() {
+        assertEquals("Author0 Test", postService.getAllPosts().stream()
+                .filter(post -> post.getTitle().startsWith("Spring post 0-"))
+                .findFirst().orElseThrow().getUserName());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount(),
+                "Post okuması kullanıcı satırlarını yükledi");
+    }
+
+    @Test
+    void testGetAllPostsPaged_NoPerRowLookups() {
+        assertEquals(5, postService.getAllPosts(1, 5, "createdAt", "desc", true).getContent().size());
+        assertStatementCount(2);
+    }
+
+    @Test
+    void testGetAllPostsPaged_CountIsCached() {
+        postService.getAllPosts(0, 5, "createdAt", "desc", true);
+        statistics.clear();
+
+        assertEquals(USERS * POSTS_PER_USER, postService.getAllPosts(1, 5, "createdAt", "desc", true).getTotalElements());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testGetAllPostsSlice_NoCountQuery() {
+        assertTrue(postService.getAllPosts(1, 5, "createdAt", "desc", false).isHasNext());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testGetPostById_SingleStatement() {
+        Long postId = postRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        assertNotNull(postService.getPostById(postId).getUserName());
+        assertStatementCount(1);
+    }
+
+    // The authors saved in setUp are in the second-level cache, so the user existence check runs no SQL.
+    @Test
+    void testGetPostsByUserId_NoPerRowLookups() {
+        assertEquals(POSTS_PER_USER, postService.getPostsByUserId(userId).size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testGetPostsByUserIdPaged_NoPerRowLookups() {
+        assertEquals(5, postService.getPostsByUserId(userId, 1, 5, "createdAt", "desc", true).getContent().size());
+        assertStatementCount(2);
+    }
+
+    @Test
+    void testSearchPosts_SingleStatement() {
+        assertEquals(USERS * POSTS_PER_USER, postService.searchPosts("Spring").size());
+        assertStatementCount(1);
+    }
+
+    // The index sorts the hits by the column and supplies the total; only the page itself is loaded.
+    @Test
+    void testSearchPostsPaged_SingleStatement() {
+        assertEquals(5, postService.searchPosts("Spring", 1, 5, "createdAt", "desc", true).getContent().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testSearchPostsByRelevance_SingleStatement() {
+        assertEquals(5, postService.searchPosts("Spring", 1, 5, "relevance", "desc", true).getContent().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testGetFeed_SingleStatement() {
+        assertEquals(5, postService.getFeed(null, 5).getContent().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testGetFeedByUserId_NoPerRowLookups() {
+        assertEquals(5, postService.getFeedByUserId(userId, null, 5).getContent().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testGetPostSummaries_NoEntitiesLoaded() {
+        PostSummaryDTO summary = postService.getPostSummaries(0, 5, "createdAt", "desc", false).getContent().get(0);
+
+        assertTrue(summary.getExcerpt().startsWith("Spring content for post"));
+        assertNotNull(summary.getUserName());
+        assertStatementCount(1);
+        assertEquals(0, statistics.getEntityLoadCount(), "Özet okuması Post entity'lerini yükledi");
+    }
+
+    @Test
+    void testGetPostSummariesByUserId_NoPerRowLookups() {
+        assertEquals(5, postService.getPostSummariesByUserId(userId, 1, 5, "createdAt", "desc", true).getContent().size());
+        assertStatementCount(2);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testSearchPostSummariesByRelevance_SingleStatement() {
+        assertEquals(5, postService.searchPostSummaries("Spring", 1, 5, "relevance", "desc", true).getContent().size());
+        assertStatementCount(1);
+    }
+
+    @Test
+    void testPostContentIsLazyOutsideTheContentGraph() {
+        Post post = new TransactionTemplate(transactionManager).execute(status -> entityManager
+                .createQuery("SELECT p FROM Post p WHERE p.user.id = :userId", Post.class)
+                .setParameter("userId", userId)
+                .setMaxResults(1)
+                .getSingleResult());
+
+        assertFalse(Hibernate.isPropertyInitialized(post, "content"));
+        assertTrue(Hibernate.isPropertyInitialized(postRepository.findById(post.getId()).orElseThrow(), "content"));
+    }
+
+    @Test
+    void testCreatePosts_BatchedInserts() {
+        List<PostRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            PostRequestDTO request = new PostRequestDTO();
+            request.setTitle("Batch post " + i);
+            request.setContent("Batch content for post " + i);
+            request.setUserId(userId);
+            requests.add(request);
+        }
+
+        assertEquals(120, postService.createPosts(requests).getSucceeded());
+        // One user lookup, up to three pooled sequence fetches (how many depends on where earlier tests left the
+        // sequence), one insert per JDBC batch of 50 and one counter update; never a statement per row.
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 8,
+                "Toplu ekleme satır başına ayrı SQL ifadesi çalıştırdı: " + statistics.getPrepareStatementCount());
+    }
+
+    private void assertStatementCount(long expected) {
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+                "Beklenenden farklı sayıda SQL ifadesi çalıştı (N+1 sorgusu olabilir)");
+    }
+}
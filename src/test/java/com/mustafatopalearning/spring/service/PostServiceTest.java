@@ -1,26 +1,54 @@
 package com.mustafatopalearning.spring.service;
 
+import com.mustafatopalearning.spring.cache.AuthorNameCache;
+import com.mustafatopalearning.spring.cache.CollectionVersions;
+import com.mustafatopalearning.spring.cache.CountCache;
+import com.mustafatopalearning.spring.cache.ResponseDtoCache;
+import com.mustafatopalearning.spring.dto.BatchResponse;
+import com.mustafatopalearning.spring.dto.CursorResponse;
+import com.mustafatopalearning.spring.dto.PageableResponse;
 import com.mustafatopalearning.spring.dto.PostRequestDTO;
 import com.mustafatopalearning.spring.dto.PostResponseDTO;
 import com.mustafatopalearning.spring.entity.Post;
 import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.PostSavedEvent;
+import com.mustafatopalearning.spring.exception.BadRequestException;
 import com.mustafatopalearning.spring.exception.ResourceNotFoundException;
 import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.PostVersion;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
 import com.mustafatopalearning.spring.repository.UserRepository;
+import com.mustafatopalearning.spring.search.PostSearchIndex;
+import com.mustafatopalearning.spring.search.SearchResult;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +60,36 @@ class PostServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserPostStatsRepository userPostStatsRepository;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ResponseDtoCache responseDtoCache = new ResponseDtoCache(100, 100, Duration.ofMinutes(1));
+
+    @Spy
+    private CountCache countCache = new CountCache(Duration.ofMinutes(1));
+
+    @Spy
+    private CollectionVersions collectionVersions = new CollectionVersions();
+
+    @Mock
+    private AuthorNameCache authorNameCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private PostService postService;
 
@@ -59,6 +117,8 @@ class PostServiceTest {
         postRequestDTO.setTitle("Test Post");
         postRequestDTO.setContent("Test Content");
         postRequestDTO.setUserId(1L);
+
+        lenient().when(authorNameCache.get(1L)).thenReturn("Test User");
     }
 
     @Test
@@ -116,6 +176,7 @@ class PostServiceTest {
         assertEquals("Test Post", result.getTitle());
         verify(userRepository, times(1)).findById(1L);
         verify(postRepository, times(1)).save(any(Post.class));
+        verify(userPostStatsRepository, times(1)).addToPostCount(1L, 1);
     }
 
     @Test
@@ -129,6 +190,59 @@ class PostServiceTest {
         verify(postRepository, never()).save(any(Post.class));
     }
 
+    @Test
+    void testCreatePosts_ResolvesUsersOnce() {
+        // Given
+        PostRequestDTO second = new PostRequestDTO();
+        second.setTitle("Second Post");
+        second.setContent("Second content long enough");
+        second.setUserId(1L);
+        PostRequestDTO unknownUser = new PostRequestDTO();
+        unknownUser.setTitle("Orphan Post");
+        unknownUser.setContent("Orphan content long enough");
+        unknownUser.setUserId(99L);
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(postRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchResponse<PostResponseDTO> result = postService.createPosts(List.of(postRequestDTO, second, unknownUser));
+
+        // Then
+        assertEquals(2, result.getSucceeded());
+        assertEquals("Kullanıcı bulunamadı: 99", result.getResults().get(2).getError());
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(any());
+        verify(postRepository, times(1)).saveAll(any());
+        verify(userPostStatsRepository, times(1)).addToPostCount(1L, 2L);
+        verify(eventPublisher, times(2)).publishEvent(any(PostSavedEvent.class));
+    }
+
+    @Test
+    void testCreatePosts_RetriesFailedChunkItemByItem() {
+        // Given
+        PostRequestDTO second = new PostRequestDTO();
+        second.setTitle("Second Post");
+        second.setContent("Second content long enough");
+        second.setUserId(1L);
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(postRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Post> posts = invocation.getArgument(0);
+            if (posts.stream().anyMatch(saved -> saved.getTitle().equals("Second Post"))) {
+                throw new DataIntegrityViolationException("constraint");
+            }
+            return posts;
+        });
+
+        // When
+        BatchResponse<PostResponseDTO> result = postService.createPosts(List.of(postRequestDTO, second));
+
+        // Then
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertEquals(1, result.getFailed());
+        verify(postRepository, times(3)).saveAll(any());
+    }
+
     @Test
     void testUpdatePost_Success() {
         // Given
@@ -137,7 +251,7 @@ class PostServiceTest {
         updateDTO.setContent("Updated Content");
 
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(postRepository.save(any(Post.class))).thenReturn(post);
+        when(postRepository.saveAndFlush(any(Post.class))).thenReturn(post);
 
         // When
         PostResponseDTO result = postService.updatePost(1L, updateDTO);
@@ -145,7 +259,7 @@ class PostServiceTest {
         // Then
         assertNotNull(result);
         verify(postRepository, times(1)).findById(1L);
-        verify(postRepository, times(1)).save(any(Post.class));
+        verify(postRepository, times(1)).saveAndFlush(any(Post.class));
     }
 
     @Test
@@ -156,31 +270,33 @@ class PostServiceTest {
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> postService.updatePost(1L, postRequestDTO));
         verify(postRepository, times(1)).findById(1L);
-        verify(postRepository, never()).save(any(Post.class));
+        verify(postRepository, never()).saveAndFlush(any(Post.class));
     }
 
     @Test
     void testDeletePost_Success() {
         // Given
-        when(postRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
         doNothing().when(postRepository).deleteById(1L);
 
         // When
         postService.deletePost(1L);
 
         // Then
-        verify(postRepository, times(1)).existsById(1L);
+        verify(postRepository, times(1)).findUserIdById(1L);
         verify(postRepository, times(1)).deleteById(1L);
+        verify(userPostStatsRepository, times(1)).addToPostCount(1L, -1);
+        verify(eventPublisher, times(1)).publishEvent(new PostDeletedEvent(1L, 1L));
     }
 
     @Test
     void testDeletePost_NotFound() {
         // Given
-        when(postRepository.existsById(1L)).thenReturn(false);
+        when(postRepository.findUserIdById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> postService.deletePost(1L));
-        verify(postRepository, times(1)).existsById(1L);
+        verify(postRepository, times(1)).findUserIdById(1L);
         verify(postRepository, never()).deleteById(anyLong());
     }
 
@@ -188,7 +304,7 @@ class PostServiceTest {
     void testGetPostsByUserId_Success() {
         // Given
         List<Post> posts = Arrays.asList(post);
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(postRepository.findByUserId(1L)).thenReturn(posts);
 
         // When
@@ -197,19 +313,287 @@ class PostServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).existsById(1L);
+        verify(userRepository, times(1)).findById(1L);
         verify(postRepository, times(1)).findByUserId(1L);
     }
 
     @Test
     void testGetPostsByUserId_UserNotFound() {
         // Given
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> postService.getPostsByUserId(1L));
-        verify(userRepository, times(1)).existsById(1L);
+        verify(userRepository, times(1)).findById(1L);
         verify(postRepository, never()).findByUserId(anyLong());
     }
-}
 
+    @Test
+    void testGetFeed_FirstPage() {
+        // Given
+        Post older = new Post();
+        older.setId(2L);
+        older.setTitle("Older Post");
+        older.setContent("Older Content");
+        older.setUser(user);
+        older.setCreatedAt(post.getCreatedAt().minusMinutes(1));
+        when(postRepository.findFeed(any(Pageable.class))).thenReturn(Arrays.asList(post, older));
+
+        // When
+        CursorResponse<PostResponseDTO> result = postService.getFeed(null, 1);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertNotNull(result.getNextCursor());
+        verify(postRepository, times(1)).findFeed(argThat(p -> p.getPageSize() == 2));
+    }
+
+    @Test
+    void testGetFeed_NextPageUsesCursor() {
+        // Given
+        when(postRepository.findFeed(any(Pageable.class))).thenReturn(Arrays.asList(post, post));
+        String cursor = postService.getFeed(null, 1).getNextCursor();
+        when(postRepository.findFeedAfter(eq(post.getCreatedAt()), eq(1L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // When
+        CursorResponse<PostResponseDTO> result = postService.getFeed(cursor, 1);
+
+        // Then
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(postRepository, times(1)).findFeedAfter(eq(post.getCreatedAt()), eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void testGetFeed_InvalidCursor() {
+        // When & Then
+        assertThrows(BadRequestException.class, () -> postService.getFeed("not-a-cursor", 10));
+        verify(postRepository, never()).findFeedAfter(any(), any(), any());
+    }
+
+    @Test
+    void testGetFeedByUserId_UserNotFound() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> postService.getFeedByUserId(1L, null, 10));
+        verify(postRepository, never()).findFeedByUserId(anyLong(), any());
+    }
+
+    @Test
+    void testSearchPosts_UsesIndexRanking() {
+        // Given
+        Post other = new Post();
+        other.setId(2L);
+        other.setTitle("Other Post");
+        other.setContent("Other Content");
+        other.setUser(user);
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search("test", 0, PostService.MAX_SEARCH_RESULTS))
+                .thenReturn(new SearchResult(Arrays.asList(2L, 1L), 2));
+        when(postRepository.findByIdIn(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(post, other));
+
+        // When
+        List<PostResponseDTO> result = postService.searchPosts("test");
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(1L, result.get(1).getId());
+        verify(postRepository, never()).searchPosts(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void testSearchPosts_FallsBackToDatabaseBeforeIndexIsReady() {
+        // Given
+        when(postSearchIndex.isReady()).thenReturn(false);
+        when(postRepository.searchPosts("test", Pageable.ofSize(PostService.MAX_SEARCH_RESULTS)))
+                .thenReturn(Arrays.asList(post));
+
+        // When
+        List<PostResponseDTO> result = postService.searchPosts("test");
+
+        // Then
+        assertEquals(1, result.size());
+        verify(postSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testSearchPostsPageable_ByRelevance() {
+        // Given
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search("test", 10, 10)).thenReturn(new SearchResult(List.of(1L), 11));
+        when(postRepository.findByIdIn(List.of(1L))).thenReturn(List.of(post));
+
+        // When
+        PageableResponse<PostResponseDTO> result = postService.searchPosts("test", 1, 10, "relevance", "desc", true);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertEquals(11L, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+    }
+
+    @Test
+    void testSearchPostsPageable_ApproximateIndexTotalIsFlagged() {
+        // Given
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search("te", 0, 10)).thenReturn(new SearchResult(List.of(1L), 64, true));
+        when(postRepository.findByIdIn(List.of(1L))).thenReturn(List.of(post));
+
+        // When
+        PageableResponse<PostResponseDTO> result = postService.searchPosts("te", 0, 10, "relevance", "desc", true);
+
+        // Then
+        assertTrue(result.isApproximate());
+        assertEquals(64L, result.getTotalElements());
+    }
+
+    @Test
+    void testSearchPostsPageable_SortedByColumnIsOrderedByTheIndex() {
+        // Given
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search("test", Sort.by("createdAt").descending(), 10, 1))
+                .thenReturn(new SearchResult(List.of(1L), 1200));
+        when(postRepository.findByIdIn(List.of(1L))).thenReturn(List.of(post));
+
+        // When
+        PageableResponse<PostResponseDTO> result = postService.searchPosts("test", 10, 1, "createdAt", "desc", true);
+
+        // Then
+        assertEquals(List.of(1L), result.getContent().stream().map(PostResponseDTO::getId).toList());
+        assertEquals(1200L, result.getTotalElements());
+        verify(postRepository, times(1)).findByIdIn(anyCollection());
+    }
+
+    @Test
+    void testSearchPostsPageable_RejectsPagesPastTheSearchWindow() {
+        // When & Then
+        assertThrows(BadRequestException.class,
+                () -> postService.searchPosts("test", 2000, 50, "createdAt", "desc", true));
+        assertThrows(BadRequestException.class,
+                () -> postService.searchPostSummaries("test", 0, PostService.MAX_SEARCH_RESULTS + 1, "relevance", "desc", false));
+        verifyNoInteractions(postSearchIndex);
+    }
+
+    @Test
+    void testCreatePost_PublishesEvent() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(postRepository.save(any(Post.class))).thenReturn(post);
+
+        // When
+        postService.createPost(postRequestDTO);
+
+        // Then
+        verify(eventPublisher, times(1)).publishEvent(any(PostSavedEvent.class));
+    }
+
+    @Test
+    void testStreamAllPosts_DetachesEachRow() {
+        // Given
+        when(postRepository.streamAll()).thenReturn(Stream.of(post));
+        List<PostResponseDTO> written = new ArrayList<>();
+
+        // When
+        postService.streamAllPosts(written::add);
+
+        // Then
+        assertEquals(1, written.size());
+        assertEquals("Test User", written.get(0).getUserName());
+        verify(entityManager, times(1)).detach(post);
+        verify(entityManager, times(1)).detach(user);
+    }
+
+    @Test
+    void testGetPostById_ServedFromCacheOnSecondCall() {
+        // Given
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        // When
+        postService.getPostById(1L);
+        PostResponseDTO result = postService.getPostById(1L);
+
+        // Then
+        assertEquals("Test Post", result.getTitle());
+        verify(postRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testGetPostETag_CachedResponseSkipsQuery() {
+        // Given
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        PostResponseDTO cached = postService.getPostById(1L);
+
+        // When
+        String etag = postService.getPostETag(1L);
+
+        // Then
+        assertEquals(ETags.post(cached), etag);
+        verify(postRepository, never()).findVersionById(1L);
+    }
+
+    @Test
+    void testGetPostETag_MatchesLoadedResponse() {
+        // Given
+        when(postRepository.findVersionById(1L))
+                .thenReturn(Optional.of(new PostVersion(1L, post.getUpdatedAt(), 1L)));
+
+        // When
+        String etag = postService.getPostETag(1L);
+
+        // Then
+        assertEquals(ETags.post(postService.convertToDTO(post)), etag);
+        verify(postRepository, never()).findById(1L);
+    }
+
+    @Test
+    void testGetPostsETag_ChangesAfterWrite() {
+        // Given
+        String before = postService.getPostsETag();
+
+        // When
+        collectionVersions.onPostDeleted(new PostDeletedEvent(1L, 1L));
+
+        // Then
+        assertNotEquals(before, postService.getPostsETag());
+    }
+
+    @Test
+    void testGetAllPostsPageable_SliceModeSkipsCount() {
+        // Given
+        when(postRepository.findPostSlice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(post), Pageable.ofSize(1), true));
+
+        // When
+        PageableResponse<PostResponseDTO> result = postService.getAllPosts(0, 1, "createdAt", "desc", false);
+
+        // Then
+        assertTrue(result.isHasNext());
+        assertFalse(result.isLast());
+        assertNull(result.getTotalElements());
+        verify(postRepository, never()).count();
+    }
+
+    @Test
+    void testGetAllPostsPageable_TotalServedFromCountCache() {
+        // Given
+        when(postRepository.findPostSlice(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(post), Pageable.ofSize(1), true));
+        when(postRepository.count()).thenReturn(5L);
+
+        // When
+        postService.getAllPosts(0, 1, "createdAt", "desc", true);
+        countCache.onPostSaved(new PostSavedEvent(2L, 1L, "Yeni", "Yeni içerik", null, null, true));
+        PageableResponse<PostResponseDTO> result = postService.getAllPosts(1, 1, "createdAt", "desc", true);
+
+        // Then
+        assertEquals(6L, result.getTotalElements());
+        assertEquals(6, result.getTotalPages());
+        verify(postRepository, times(1)).count();
+    }
+}
@@ -0,0 +1,293 @@
+package com.mustafatopalearning.spring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mustafatopalearning.spring.cache.AuthorNameCache;
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.PostResponseDTO;
+import com.mustafatopalearning.spring.dto.PostWriteStatusDTO;
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.exception.ResourceNotFoundException;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.posts.write-behind.enabled=true",
+        "app.posts.write-behind.dead-letter-capacity=2",
+        "app.posts.write-behind.journal=target/write-behind-test/posts.journal"
+})
+class PostWriteBehindTest {
+
+    @Autowired
+    private PostWriteBehind postWriteBehind;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuthorNameCache authorNameCache;
+
+    @Value("${app.posts.write-behind.journal}")
+    private Path journalPath;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Kuyruk");
+        user.setSurname("Test");
+        user.setEmail("kuyruk@example.com");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testAcceptedPostIsWrittenWithReservedIdAndAcceptanceTime() throws Exception {
+        // Given
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle("Kuyruk postu");
+        request.setContent("Kuyruktan yazılan post içeriği");
+        request.setUserId(user.getId());
+
+        // When
+        PostResponseDTO accepted = postWriteBehind.submit(request);
+        Post written = awaitPost(accepted.getId());
+
+        // Then
+        assertEquals("Kuyruk Test", accepted.getUserName());
+        assertEquals(accepted.getCreatedAt(), written.getCreatedAt());
+        assertEquals(user.getId(), written.getUser().getId());
+        assertEquals("Kuyruk postu", postService.getPostById(accepted.getId()).getTitle());
+        assertTrue(meterRegistry.get("posts.write_behind.latency").timer().count() >= 1);
+    }
+
+    @Test
+    void testWrittenPostInvalidatesCachedUserPostList() throws Exception {
+        // Given
+        assertTrue(postService.getPostsByUserId(user.getId()).isEmpty());
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle("Kuyruk postu");
+        request.setContent("Kuyruktan yazılan post içeriği");
+        request.setUserId(user.getId());
+
+        // When
+        postWriteBehind.submit(request);
+
+        // Then: the insert bypasses Hibernate, yet the cached query result must not hide the new post
+        for (int attempt = 0; attempt < 100 && postService.getPostsByUserId(user.getId()).isEmpty(); attempt++) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, postService.getPostsByUserId(user.getId()).size());
+    }
+
+    @Test
+    void testUnknownUserIsRejectedBeforeQueueing() {
+        // Given
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle("Kuyruk postu");
+        request.setContent("Kuyruktan yazılan post içeriği");
+        request.setUserId(999_999L);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> postWriteBehind.submit(request));
+        assertEquals(0, postWriteBehind.getQueueSize());
+    }
+
+    @Test
+    void testUserStillInAuthorCacheButDeletedIsRejected() {
+        // Given: the name is cached, but the row is gone without the event that would evict it
+        authorNameCache.warmUp();
+        userRepository.deleteById(user.getId());
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle("Kuyruk postu");
+        request.setContent("Kuyruktan yazılan post içeriği");
+        request.setUserId(user.getId());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> postWriteBehind.submit(request));
+        assertEquals(0, postWriteBehind.getQueueSize());
+    }
+
+    @Test
+    void testPostRejectedByDatabaseIsDeadLetteredAndReportedAsFailed() throws Exception {
+        // Given: an accepted post whose author no longer exists when the worker reaches it
+        postWriteBehind.stop();
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        QueuedPost orphan = new QueuedPost(9_000_002L, 999_999L, "Sahipsiz", "Yazarı silinmiş post", createdAt, 0);
+        Files.write(journalPath, (objectMapper.writeValueAsString(orphan) + "\n").getBytes());
+
+        // When
+        postWriteBehind.start();
+
+        // Then
+        assertFalse(postRepository.existsById(9_000_002L));
+        assertEquals(PostWriteStatusDTO.Status.FAILED, postWriteBehind.getStatus(9_000_002L).getStatus());
+        postWriteBehind.stop();
+        postWriteBehind.start();
+        assertEquals(PostWriteStatusDTO.Status.FAILED, postWriteBehind.getStatus(9_000_002L).getStatus());
+    }
+
+    @Test
+    void testDeadLettersAreCappedAndTheFileIsCompacted() throws Exception {
+        // Given: three rejected posts with room for two
+        postWriteBehind.purgeDeadLetters();
+        double evictedBefore = meterRegistry.get("posts.write_behind.dead_letters.evicted").counter().count();
+        postWriteBehind.stop();
+        writeJournal(journalPath, orphan(9_000_011L), orphan(9_000_012L), orphan(9_000_013L));
+
+        // When
+        postWriteBehind.start();
+
+        // Then: the oldest is dropped and counted
+        assertThrows(ResourceNotFoundException.class, () -> postWriteBehind.getStatus(9_000_011L));
+        assertEquals(PostWriteStatusDTO.Status.FAILED, postWriteBehind.getStatus(9_000_012L).getStatus());
+        assertEquals(PostWriteStatusDTO.Status.FAILED, postWriteBehind.getStatus(9_000_013L).getStatus());
+        assertEquals(2, meterRegistry.get("posts.write_behind.dead_letters").gauge().value());
+        assertEquals(1, meterRegistry.get("posts.write_behind.dead_letters.evicted").counter().count() - evictedBefore);
+        postWriteBehind.stop();
+        postWriteBehind.start();
+        assertEquals(2, Files.readAllLines(deadLetterPath()).size());
+        assertThrows(ResourceNotFoundException.class, () -> postWriteBehind.getStatus(9_000_011L));
+    }
+
+    @Test
+    void testRetryWritesDeadLettersTheDatabaseNowAccepts() throws Exception {
+        // Given: one dead letter whose author exists again, one whose author is still missing
+        postWriteBehind.purgeDeadLetters();
+        postWriteBehind.stop();
+        QueuedPost fixed = new QueuedPost(9_000_021L, user.getId(), "Düzelen", "Yazarı geri gelen post",
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), 0);
+        writeJournal(deadLetterPath(), fixed, orphan(9_000_022L));
+        postWriteBehind.start();
+        assertEquals(PostWriteStatusDTO.Status.FAILED, postWriteBehind.getStatus(9_000_021L).getStatus());
+
+        // When
+        int written = postWriteBehind.retryDeadLetters();
+
+        // Then
+        assertEquals(1, written);
+        assertEquals(PostWriteStatusDTO.Status.WRITTEN, postWriteBehind.getStatus(9_000_021L).getStatus());
+        assertEquals(PostWriteStatusDTO.Status.FAILED, postWriteBehind.getStatus(9_000_022L).getStatus());
+        assertEquals(1, Files.readAllLines(deadLetterPath()).size());
+    }
+
+    @Test
+    void testPurgeDropsDeadLettersAndEmptiesTheFile() throws Exception {
+        // Given
+        postWriteBehind.stop();
+        writeJournal(journalPath, orphan(9_000_031L));
+        postWriteBehind.start();
+        assertEquals(PostWriteStatusDTO.Status.FAILED, postWriteBehind.getStatus(9_000_031L).getStatus());
+
+        // When
+        int purged = postWriteBehind.purgeDeadLetters();
+
+        // Then
+        assertTrue(purged >= 1);
+        assertThrows(ResourceNotFoundException.class, () -> postWriteBehind.getStatus(9_000_031L));
+        assertEquals(0, Files.size(deadLetterPath()));
+        assertEquals(0, meterRegistry.get("posts.write_behind.dead_letters").gauge().value());
+    }
+
+    @Test
+    void testStatusOfWrittenAndUnknownPosts() throws Exception {
+        // Given
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle("Kuyruk postu");
+        request.setContent("Kuyruktan yazılan post içeriği");
+        request.setUserId(user.getId());
+        PostResponseDTO accepted = postWriteBehind.submit(request);
+
+        // When
+        PostWriteStatusDTO.Status status = postWriteBehind.getStatus(accepted.getId()).getStatus();
+        for (int attempt = 0; attempt < 100 && status == PostWriteStatusDTO.Status.PENDING; attempt++) {
+            Thread.sleep(50);
+            status = postWriteBehind.getStatus(accepted.getId()).getStatus();
+        }
+
+        // Then
+        assertEquals(PostWriteStatusDTO.Status.WRITTEN, status);
+        assertTrue(postRepository.existsById(accepted.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> postWriteBehind.getStatus(8_999_999L));
+    }
+
+    @Test
+    void testJournalEntriesLeftByCrashAreWrittenOnStart() throws Exception {
+        // Given: a journal as a process killed before its worker ran would leave it
+        postWriteBehind.stop();
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        QueuedPost unwritten = new QueuedPost(9_000_001L, user.getId(), "Günlükten", "Günlükten yazılan içerik", createdAt, 0);
+        Files.write(journalPath, (objectMapper.writeValueAsString(unwritten) + "\n").getBytes());
+
+        // When
+        postWriteBehind.start();
+
+        // Then
+        Optional<Post> replayed = postRepository.findById(9_000_001L);
+        assertTrue(replayed.isPresent());
+        assertEquals(createdAt, replayed.get().getCreatedAt());
+        assertEquals(0, Files.size(journalPath));
+    }
+
+    private Path deadLetterPath() {
+        return journalPath.resolveSibling(journalPath.getFileName() + ".failed");
+    }
+
+    private QueuedPost orphan(Long id) {
+        return new QueuedPost(id, 999_999L, "Sahipsiz", "Yazarı silinmiş post", LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), 0);
+    }
+
+    private void writeJournal(Path path, QueuedPost... posts) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (QueuedPost post : posts) {
+            lines.add(objectMapper.writeValueAsString(post));
+        }
+        Files.write(path, lines);
+    }
+
+    private Post awaitPost(Long id) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Optional<Post> post = postRepository.findById(id);
+            if (post.isPresent()) {
+                return post.get();
+            }
+            Thread.sleep(50);
+        }
+        return fail("Post yazılmadı: " + id);
+    }
+}
@@ -0,0 +1,106 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.exception.ResourceNotFoundException;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN"
+})
+class UserDeletionTest {
+
+    private static final int POSTS = UserService.DELETE_CHUNK_SIZE * 2 + 500;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User author;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(user("silinecek@example.com"));
+        other = userRepository.save(user("kalacak@example.com"));
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            posts.add(post(author, i));
+        }
+        posts.add(post(other, 0));
+        postRepository.saveAll(posts);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testDeleteUser_RemovesAllPostsAndKeepsCachedTotalsInStep() {
+        // Given
+        assertEquals(POSTS + 1, postService.getAllPosts(0, 10, "createdAt", "desc", true).getTotalElements());
+
+        // When
+        userService.deleteUser(author.getId());
+
+        // Then
+        assertFalse(userRepository.existsById(author.getId()));
+        assertEquals(1, postRepository.count());
+        assertEquals(1, postService.getAllPosts(0, 10, "createdAt", "desc", true).getTotalElements());
+        assertThrows(ResourceNotFoundException.class, () -> postService.getPostsByUserId(author.getId()));
+        assertEquals(1, postService.getPostsByUserId(other.getId()).size());
+    }
+
+    @Test
+    void testDeleteUserInBackground_FinishesAfterReturning() throws InterruptedException {
+        // When
+        userService.deleteUserInBackground(author.getId());
+
+        // Then
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (userRepository.existsById(author.getId()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse(userRepository.existsById(author.getId()));
+        assertEquals(1, postRepository.count());
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setName("Silme");
+        user.setSurname("Test");
+        user.setEmail(email);
+        return user;
+    }
+
+    private static Post post(User user, int i) {
+        Post post = new Post();
+        post.setTitle("Silme postu " + i);
+        post.setContent("Silme içeriği " + i);
+        post.setUser(user);
+        return post;
+    }
+}
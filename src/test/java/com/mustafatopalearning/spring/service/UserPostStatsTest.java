@@ -0,0 +1,125 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.UserRequestDTO;
+import com.mustafatopalearning.spring.entity.Post;
+import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.entity.UserPostStats;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.users.post-stats.reconcile-initial-delay=1d")
+class UserPostStatsTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserPostStatsReconciler userPostStatsReconciler;
+
+    @Autowired
+    private UserPostStatsRepository userPostStatsRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        // Rows left behind by other test classes sharing the database would be counted as repairs.
+        userPostStatsReconciler.reconcile();
+        UserRequestDTO request = new UserRequestDTO();
+        request.setEmail("sayac@example.com");
+        request.setName("Sayaç");
+        request.setSurname("Test");
+        userId = userService.createUser(request).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        userPostStatsRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testCounters_FollowCreateAndDelete() {
+        // Given
+        assertEquals(0, userService.getUserStats(userId).getPostCount());
+
+        // When
+        Long postId = postService.createPost(postRequest("Tekil post")).getId();
+        postService.createPosts(List.of(postRequest("Toplu post 1"), postRequest("Toplu post 2")));
+        postService.deletePost(postId);
+
+        // Then
+        assertEquals(2, userService.getUserStats(userId).getPostCount());
+        assertNotNull(userService.getUserStats(userId).getUpdatedAt());
+        assertEquals(2, postService.getPostsByUserId(userId, 0, 10, "createdAt", "desc", true).getTotalElements());
+
+        userService.deleteUser(userId);
+        assertFalse(userPostStatsRepository.existsById(userId));
+    }
+
+    @Test
+    void testReconcile_RepairsDriftedMissingAndOrphanRows() {
+        // Given
+        User legacy = new User();
+        legacy.setEmail("eski@example.com");
+        legacy.setName("Eski");
+        legacy.setSurname("Kullanıcı");
+        legacy = userRepository.save(legacy);
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            posts.add(post(userRepository.findById(userId).orElseThrow(), i));
+            posts.add(post(legacy, i));
+        }
+        postRepository.saveAll(posts);
+        userPostStatsRepository.save(new UserPostStats(-1L, 5, LocalDateTime.now()));
+
+        // When
+        int repaired = userPostStatsReconciler.reconcile();
+
+        // Then
+        assertEquals(3, repaired);
+        assertEquals(3, userPostStatsRepository.findPostCountByUserId(userId).orElseThrow());
+        assertEquals(3, userPostStatsRepository.findPostCountByUserId(legacy.getId()).orElseThrow());
+        assertFalse(userPostStatsRepository.existsById(-1L));
+        assertEquals(0, userPostStatsReconciler.reconcile());
+    }
+
+    private PostRequestDTO postRequest(String title) {
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle(title);
+        request.setContent(title + " içeriği");
+        request.setUserId(userId);
+        return request;
+    }
+
+    private static Post post(User user, int i) {
+        Post post = new Post();
+        post.setTitle("Doğrudan post " + i);
+        post.setContent("Doğrudan içerik " + i);
+        post.setUser(user);
+        return post;
+    }
+}
@@ -1,25 +1,52 @@
 package com.mustafatopalearning.spring.service;
 
+import com.mustafatopalearning.spring.cache.CollectionVersions;
+import com.mustafatopalearning.spring.cache.CountCache;
+import com.mustafatopalearning.spring.cache.ResponseDtoCache;
+import com.mustafatopalearning.spring.dto.BatchResponse;
 import com.mustafatopalearning.spring.dto.UserRequestDTO;
 import com.mustafatopalearning.spring.dto.UserResponseDTO;
+import com.mustafatopalearning.spring.dto.UserStatsDTO;
 import com.mustafatopalearning.spring.entity.User;
+import com.mustafatopalearning.spring.entity.UserPostStats;
+import com.mustafatopalearning.spring.event.PostDeletedEvent;
+import com.mustafatopalearning.spring.event.UserDeletedEvent;
+import com.mustafatopalearning.spring.event.UserSavedEvent;
 import com.mustafatopalearning.spring.exception.BadRequestException;
+import com.mustafatopalearning.spring.exception.ConflictException;
 import com.mustafatopalearning.spring.exception.ResourceNotFoundException;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserPostStatsRepository;
 import com.mustafatopalearning.spring.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +55,33 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserPostStatsRepository userPostStatsRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ResponseDtoCache responseDtoCache = new ResponseDtoCache(100, 100, Duration.ofMinutes(1));
+
+    @Spy
+    private CountCache countCache = new CountCache(Duration.ofMinutes(1));
+
+    @Spy
+    private CollectionVersions collectionVersions = new CollectionVersions();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private UserService userService;
 
@@ -104,6 +158,8 @@ class UserServiceTest {
         assertEquals("test@example.com", result.getEmail());
         verify(userRepository, times(1)).existsByEmail("test@example.com");
         verify(userRepository, times(1)).save(any(User.class));
+        verify(entityManager, times(1)).persist(argThat(stats -> stats instanceof UserPostStats userPostStats
+                && userPostStats.getUserId().equals(1L) && userPostStats.getPostCount() == 0));
     }
 
     @Test
@@ -117,6 +173,51 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    void testCreateUsers_ReportsFailuresPerItem() {
+        // Given
+        UserRequestDTO invalid = new UserRequestDTO();
+        invalid.setEmail("not-an-email");
+        invalid.setName("Test");
+        invalid.setSurname("User");
+        UserRequestDTO duplicate = new UserRequestDTO();
+        duplicate.setEmail("test@example.com");
+        duplicate.setName("Other");
+        duplicate.setSurname("User");
+        UserRequestDTO existing = new UserRequestDTO();
+        existing.setEmail("taken@example.com");
+        existing.setName("Taken");
+        existing.setSurname("User");
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of("taken@example.com"));
+        when(userRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            users.forEach(saved -> saved.setId(10L));
+            return users;
+        });
+
+        // When
+        BatchResponse<UserResponseDTO> result = userService.createUsers(
+                List.of(userRequestDTO, invalid, duplicate, existing));
+
+        // Then
+        assertEquals(1, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals(10L, result.getResults().get(0).getData().getId());
+        assertEquals("Geçerli bir email adresi giriniz", result.getResults().get(1).getError());
+        assertTrue(result.getResults().get(2).getError().contains("birden fazla"));
+        assertTrue(result.getResults().get(3).getError().contains("zaten kullanılıyor"));
+        verify(userRepository, times(1)).saveAll(argThat(users -> ((List<?>) users).size() == 1));
+        verify(eventPublisher, times(1)).publishEvent(any(UserSavedEvent.class));
+    }
+
+    @Test
+    void testCreateUsers_EmptyBatch() {
+        // When & Then
+        assertThrows(BadRequestException.class, () -> userService.createUsers(List.of()));
+        verify(userRepository, never()).saveAll(any());
+    }
+
     @Test
     void testUpdateUser_Success() {
         // Given
@@ -153,14 +254,107 @@ class UserServiceTest {
     void testDeleteUser_Success() {
         // Given
         when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        when(postRepository.findIdsByUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(10L, 11L))
+                .thenReturn(List.of());
 
         // When
         userService.deleteUser(1L);
 
         // Then
         verify(userRepository, times(1)).existsById(1L);
-        verify(userRepository, times(1)).deleteById(1L);
+        verify(postRepository, times(1)).deleteAllByIdInBatch(List.of(10L, 11L));
+        verify(userRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
+        verify(userPostStatsRepository, times(1)).addToPostCount(1L, -2);
+        verify(userPostStatsRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
+        verify(userRepository, never()).deleteById(anyLong());
+        verify(eventPublisher, times(2)).publishEvent(any(PostDeletedEvent.class));
+        verify(eventPublisher, times(1)).publishEvent(any(UserDeletedEvent.class));
+    }
+
+    @Test
+    void testDeleteUser_DeletesPostsInChunks() {
+        // Given
+        List<Long> fullChunk = new ArrayList<>();
+        for (long id = 1; id <= UserService.DELETE_CHUNK_SIZE; id++) {
+            fullChunk.add(id);
+        }
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findIdsByUserId(eq(1L), argThat(page -> page.getPageSize() == UserService.DELETE_CHUNK_SIZE)))
+                .thenReturn(fullChunk)
+                .thenReturn(List.of(5000L))
+                .thenReturn(List.of());
+
+        // When
+        userService.deleteUser(1L);
+
+        // Then
+        verify(postRepository, times(2)).deleteAllByIdInBatch(any());
+        verify(userPostStatsRepository, times(1)).addToPostCount(1L, -UserService.DELETE_CHUNK_SIZE);
+        verify(userPostStatsRepository, times(1)).addToPostCount(1L, -1);
+        verify(eventPublisher, times(UserService.DELETE_CHUNK_SIZE + 1)).publishEvent(any(PostDeletedEvent.class));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void testDeleteUser_PostAddedBeforeUserDeleteIsDeletedOnRetry() {
+        // Given: a post slips in between the last chunk and the user delete
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findIdsByUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(20L))
+                .thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("FK_POSTS_USER"))
+                .doNothing()
+                .when(userRepository).deleteAllByIdInBatch(List.of(1L));
+
+        // When
+        userService.deleteUser(1L);
+
+        // Then
+        verify(postRepository, times(1)).deleteAllByIdInBatch(List.of(20L));
+        verify(userRepository, times(2)).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void testDeleteUser_PostsKeepArrivingIsConflict() {
+        // Given
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findIdsByUserId(eq(1L), any(Pageable.class))).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("FK_POSTS_USER"))
+                .when(userRepository).deleteAllByIdInBatch(List.of(1L));
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> userService.deleteUser(1L));
+        verify(userRepository, times(UserService.USER_DELETE_ATTEMPTS)).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void testDeleteUser_ConcurrentRequestWaitsForDeletionInProgress() throws Exception {
+        // Given: the first deletion is held inside its first chunk read
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.findIdsByUserId(eq(1L), any(Pageable.class))).thenAnswer(invocation -> {
+            firstReading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> userService.deleteUser(1L));
+        assertTrue(firstReading.await(10, TimeUnit.SECONDS));
+
+        // When: the first deletion is released only once the second request is parked
+        Thread second = Thread.ofPlatform().start(() -> userService.deleteUser(1L));
+        while (second.getState() == Thread.State.NEW || second.getState() == Thread.State.RUNNABLE) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.join(10_000);
+
+        // Then: one deletion ran, the second request only waited for it
+        verify(postRepository, times(1)).findIdsByUserId(eq(1L), any(Pageable.class));
+        verify(userRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
     }
 
     @Test
@@ -171,7 +365,91 @@ class UserServiceTest {
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(1L));
         verify(userRepository, times(1)).existsById(1L);
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository, never()).deleteAllByIdInBatch(any());
+        verify(postRepository, never()).findIdsByUserId(anyLong(), any(Pageable.class));
     }
-}
 
+    @Test
+    void testGetUserStats_ReadsCounterRow() {
+        // Given
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(userPostStatsRepository.findById(1L)).thenReturn(Optional.of(new UserPostStats(1L, 7, updatedAt)));
+
+        // When
+        UserStatsDTO result = userService.getUserStats(1L);
+
+        // Then
+        assertEquals(7, result.getPostCount());
+        assertEquals(updatedAt, result.getUpdatedAt());
+        verify(postRepository, never()).countByUserId(anyLong());
+    }
+
+    @Test
+    void testGetUserStats_CountsWhenRowMissing() {
+        // Given
+        when(userPostStatsRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(postRepository.countByUserId(1L)).thenReturn(3L);
+
+        // When
+        UserStatsDTO result = userService.getUserStats(1L);
+
+        // Then
+        assertEquals(3, result.getPostCount());
+        assertNull(result.getUpdatedAt());
+    }
+
+    @Test
+    void testGetUserStats_NotFound() {
+        // Given
+        when(userPostStatsRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserStats(1L));
+    }
+
+    @Test
+    void testStreamAllUsers_DetachesEachRow() {
+        // Given
+        when(userRepository.streamAll()).thenReturn(Stream.of(user));
+        List<UserResponseDTO> written = new ArrayList<>();
+
+        // When
+        userService.streamAllUsers(written::add);
+
+        // Then
+        assertEquals(1, written.size());
+        verify(entityManager, times(1)).detach(user);
+    }
+
+    @Test
+    void testGetUserById_ServedFromCacheOnSecondCall() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        userService.getUserById(1L);
+        UserResponseDTO result = userService.getUserById(1L);
+
+        // Then
+        assertEquals("test@example.com", result.getEmail());
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testUpdateAndDeleteUser_PublishEvents() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        userService.updateUser(1L, userRequestDTO);
+        userService.deleteUser(1L);
+
+        // Then
+        verify(eventPublisher, times(1)).publishEvent(any(UserSavedEvent.class));
+        verify(eventPublisher, times(1)).publishEvent(any(UserDeletedEvent.class));
+    }
+}
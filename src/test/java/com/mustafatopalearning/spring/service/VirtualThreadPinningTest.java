@@ -0,0 +1,121 @@
+package com.mustafatopalearning.spring.service;
+
+import com.mustafatopalearning.spring.dto.PostRequestDTO;
+import com.mustafatopalearning.spring.dto.UserRequestDTO;
+import com.mustafatopalearning.spring.repository.PostRepository;
+import com.mustafatopalearning.spring.repository.UserRepository;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A tiny connection pool and a short sleep per SQL statement make calls park the way they would on a remote
+// database; the in-memory H2 alone never blocks, so pinning would otherwise go unnoticed.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pinning",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.mustafatopalearning.spring.service.VirtualThreadPinningTest$NetworkLatency"
+})
+class VirtualThreadPinningTest {
+
+    private static final int CONCURRENT_CALLS = 200;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testDataPathDoesNotPinVirtualThreads() throws Exception {
+        UserRequestDTO userRequestDTO = new UserRequestDTO();
+        userRequestDTO.setEmail("pinning@example.com");
+        userRequestDTO.setName("Pinning");
+        userRequestDTO.setSurname("Test");
+        Long userId = userService.createUser(userRequestDTO).getId();
+
+        PostRequestDTO postRequestDTO = new PostRequestDTO();
+        postRequestDTO.setTitle("Sanal thread");
+        postRequestDTO.setContent("Sanal thread pinning kontrolü");
+        postRequestDTO.setUserId(userId);
+        Long postId = postService.createPost(postRequestDTO).getId();
+
+        List<String> pinnedStacks = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinnedStacks.add(describe(event.getStackTrace())));
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < CONCURRENT_CALLS; i++) {
+                    calls.add(executor.submit(() -> {
+                        postService.getPostsByUserId(userId, 0, 10, "createdAt", "desc", true);
+                        postService.getFeed(null, 10);
+                        postService.searchPosts("sanal", 0, 10, PostService.SORT_BY_RELEVANCE, "desc", true);
+                        postService.getPostById(postId);
+                        userService.getAllUsers(0, 10, "id", "asc", false);
+                    }));
+                }
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+            }
+            recording.stop();
+        }
+
+        assertTrue(pinnedStacks.isEmpty(), "Sanal thread taşıyıcı thread'e sabitlendi:\n" + String.join("\n\n", pinnedStacks));
+    }
+
+    public static class NetworkLatency implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(stack trace yok)";
+        }
+        return stackTrace.getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining("\n  "));
+    }
+}